@@ -0,0 +1,84 @@
+package com.web.back.security;
+
+import com.web.back.entity.User;
+import com.web.back.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 요청 1건당 JWT 인증 비용 비교
+ * - parseEveryRequest: 기존 방식 (매 요청 Base64 디코딩 + JSON 파싱 + HMAC 검증)
+ * - cacheDisabled: 검증 캐시를 끈 JwtService (해시 계산 비용 포함)
+ * - verifiedCache: 같은 토큰이 반복되는 정상 상태 (캐시 적중)
+ */
+@State(Scope.Benchmark)
+public class JwtAuthBenchmark {
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final String ISSUER = "bench-issuer";
+    private static final String AUDIENCE = "bench-audience";
+
+    private JwtParser parser;
+    private JwtService uncachedService;
+    private JwtService cachedService;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        parser = Jwts.parser()
+                .requireIssuer(ISSUER)
+                .requireAudience(AUDIENCE)
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        uncachedService = newJwtService(0);
+        cachedService = newJwtService(10_000);
+
+        User user = User.builder().email("bench@test.com").nickname("bench").role(UserRole.USER).build();
+        setField(user, "id", UUID.randomUUID());
+        token = cachedService.getToken(user);
+    }
+
+    @Benchmark
+    public Claims parseEveryRequest() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Optional<Claims> cacheDisabled() {
+        return uncachedService.validateAndGetClaims(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> verifiedCache() {
+        return cachedService.validateAndGetClaims(token);
+    }
+
+    private static JwtService newJwtService(long cacheSize) throws Exception {
+        JwtService service = new JwtService(new TokenVersionService(null) {
+            @Override
+            public long currentVersion(UUID userId) {
+                return 0L;
+            }
+        });
+        setField(service, "secret", SECRET);
+        setField(service, "expirationTime", 3_600_000L);
+        setField(service, "issuer", ISSUER);
+        setField(service, "audience", AUDIENCE);
+        setField(service, "verifiedCacheMaxSize", cacheSize);
+        service.init();
+        return service;
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,133 @@
+package com.web.back.service.focus;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.*;
+import java.util.UUID;
+
+/**
+ * 집중 세션 1건(영상 1 / 20 / 200개) 저장 비용 비교
+ * 왕복 비용이 드러나도록 H2 를 TCP 서버로 띄워 루프백으로 접속합니다.
+ * - identityRowByRow: 기존 방식 (IDENTITY 로 focus_log insert 후 생성 키 조회, 영상마다 insert 한 번씩)
+ * - pooledBatch: 현재 방식 (pooled-lo 시퀀스 ID 를 미리 받고 focus_log 1회 + 영상 batch 1회)
+ */
+@State(Scope.Benchmark)
+public class FocusLogWriteBenchmark {
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Param({"1", "20", "200"})
+    public int videos;
+
+    private Server server;
+    private Connection connection;
+    private String userId;
+    private String[] videoIds;
+    private long nextId;
+    private long blockEnd;
+
+    @Setup
+    public void setUp() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        connection = DriverManager.getConnection(
+                "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:focus_bench;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table identity_log (id bigint auto_increment primary key, user_id varchar(36), "
+                    + "start_at timestamp, end_at timestamp)");
+            statement.execute("create table identity_log_videos (focus_log_id bigint, video_id varchar(32))");
+            statement.execute("create sequence focus_log_seq start with 1 increment by " + ALLOCATION_SIZE);
+            statement.execute("create table focus_log (id bigint primary key, user_id varchar(36), "
+                    + "start_at timestamp, end_at timestamp, source_id varchar(36))");
+            statement.execute("create table focus_log_videos (focus_log_id bigint, video_id varchar(32))");
+        }
+        userId = UUID.randomUUID().toString();
+        videoIds = new String[videos];
+        for (int i = 0; i < videos; i++) {
+            videoIds[i] = "video" + i;
+        }
+    }
+
+    // 테이블이 계속 커져 뒤쪽 측정이 불리해지지 않도록 반복마다 비움
+    @TearDown(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("truncate table identity_log_videos");
+            statement.execute("truncate table identity_log");
+            statement.execute("truncate table focus_log_videos");
+            statement.execute("truncate table focus_log");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public long identityRowByRow() throws SQLException {
+        long id;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into identity_log (user_id, start_at, end_at) values (?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            bindSession(insert, 1);
+            insert.executeUpdate();
+            try (ResultSet keys = insert.getGeneratedKeys()) {
+                keys.next();
+                id = keys.getLong(1);
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into identity_log_videos (focus_log_id, video_id) values (?, ?)")) {
+            for (String videoId : videoIds) {
+                insert.setLong(1, id);
+                insert.setString(2, videoId);
+                insert.executeUpdate();
+            }
+        }
+        return id;
+    }
+
+    @Benchmark
+    public long pooledBatch() throws SQLException {
+        long id = allocateId();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into focus_log (id, user_id, start_at, end_at, source_id) values (?, ?, ?, ?, ?)")) {
+            insert.setLong(1, id);
+            bindSession(insert, 2);
+            insert.setString(5, UUID.randomUUID().toString());
+            insert.executeUpdate();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into focus_log_videos (focus_log_id, video_id) values (?, ?)")) {
+            for (String videoId : videoIds) {
+                insert.setLong(1, id);
+                insert.setString(2, videoId);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        return id;
+    }
+
+    // 헬퍼 메서드
+    // Hibernate pooled-lo 와 같은 방식: 시퀀스 값을 블록 시작으로 보고 블록을 다 쓸 때만 시퀀스 호출
+    private long allocateId() throws SQLException {
+        if (nextId >= blockEnd) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("select next value for focus_log_seq")) {
+                rs.next();
+                nextId = rs.getLong(1);
+                blockEnd = nextId + ALLOCATION_SIZE;
+            }
+        }
+        return nextId++;
+    }
+
+    private void bindSession(PreparedStatement statement, int firstIndex) throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        statement.setString(firstIndex, userId);
+        statement.setTimestamp(firstIndex + 1, new Timestamp(now.getTime() - 1_500_000));
+        statement.setTimestamp(firstIndex + 2, now);
+    }
+}
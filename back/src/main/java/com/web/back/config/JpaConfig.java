@@ -0,0 +1,23 @@
+package com.web.back.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    // insert / update 를 batch_size 단위로 묶어 전송 (spring.jpa.properties.* 로 지정한 값이 있으면 그 값을 우선)
+    @Bean
+    public HibernatePropertiesCustomizer batchingCustomizer(@Value("${jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+            // 시퀀스 값을 블록의 시작 ID 로 사용 (다른 클라이언트가 시퀀스를 직접 읽어도 해석이 쉬움)
+            properties.putIfAbsent(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+        };
+    }
+}
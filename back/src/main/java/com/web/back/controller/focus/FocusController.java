@@ -2,27 +2,50 @@ package com.web.back.controller.focus;
 
 import com.web.back.dto.focus.FocusRequestDto;
 import com.web.back.dto.focus.FocusResponseDto;
-import com.web.back.entity.User;
+import com.web.back.dto.focus.FocusStatsResponseDto;
+import com.web.back.dto.focus.TrendingVideoDto;
+import com.web.back.enums.TrendingScope;
+import com.web.back.security.AuthPrincipal;
 import com.web.back.service.FocusService;
+import com.web.back.service.focus.FocusStatsService;
+import com.web.back.service.trending.TrendingMusicService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/focus")
 @RequiredArgsConstructor
 public class FocusController {
     private final FocusService focusService;
+    private final FocusStatsService focusStatsService;
+    private final TrendingMusicService trendingMusicService;
 
     @PostMapping("/end")
     public ResponseEntity<FocusResponseDto> endSession(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthPrincipal principal,
             @RequestBody FocusRequestDto request
             ) {
-        return ResponseEntity.ok(focusService.finishSession(user, request));
+        return ResponseEntity.ok(focusService.finishSession(principal, request));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<FocusStatsResponseDto> getStats(
+            @AuthenticationPrincipal AuthPrincipal principal,
+            @RequestParam(defaultValue = "90") int days
+    ) {
+        return ResponseEntity.ok(focusStatsService.getStats(principal, days));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingVideoDto>> getTrending(
+            @AuthenticationPrincipal AuthPrincipal principal,
+            @RequestParam(defaultValue = "global") String scope,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(trendingMusicService.getTrending(principal.id(), TrendingScope.from(scope), limit));
     }
 }
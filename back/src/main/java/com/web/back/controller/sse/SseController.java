@@ -2,6 +2,7 @@ package com.web.back.controller.sse;
 
 import com.web.back.dto.share.MusicDto;
 import com.web.back.service.room.RoomService;
+import com.web.back.service.sse.MusicSyncCoalescer;
 import com.web.back.service.sse.SseService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
@@ -15,6 +16,7 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 public class SseController {
     private final SseService sseService;
     private final RoomService roomService;
+    private final MusicSyncCoalescer musicSyncCoalescer;
 
     @GetMapping(value = "/connect/{email}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public SseEmitter connect(@PathVariable String email) {
@@ -29,7 +31,8 @@ public class SseController {
         musicDto.setOwnerEmail(ownerEmail);
         roomService.updateCurrentMusic(ownerEmail, musicDto);
 
-        sseService.broadcastToRoom(ownerEmail, "music-sync", musicDto);
+        // 진행 상황 갱신은 짧은 창 안에서 최신 것만 전달 (재생/정지, 곡 변경은 즉시 전달)
+        musicSyncCoalescer.publish(ownerEmail, musicDto);
 
         return ResponseEntity.ok().build();
     }
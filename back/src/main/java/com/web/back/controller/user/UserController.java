@@ -1,10 +1,14 @@
 package com.web.back.controller.user;
 
+import com.web.back.dto.page.CursorPageResponseDto;
 import com.web.back.dto.user.UserRankResponseDto;
 import com.web.back.dto.user.UserResponseDto;
 import com.web.back.dto.user.UserSearchResponseDto;
-import com.web.back.entity.User;
+import com.web.back.dto.user.UserTypeaheadResponseDto;
+import com.web.back.enums.RankWindow;
+import com.web.back.security.AuthPrincipal;
 import com.web.back.service.UserService;
+import com.web.back.service.search.TypeaheadService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -18,12 +22,13 @@ import java.util.List;
 @RequestMapping("/api/user")
 public class UserController {
     private final UserService userService;
+    private final TypeaheadService typeaheadService;
 
     @GetMapping("/stats")
     public ResponseEntity<UserResponseDto> getUserStats(
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal AuthPrincipal principal
             ) {
-        return ResponseEntity.ok(UserResponseDto.from(user));
+        return ResponseEntity.ok(userService.getUserStats(principal));
     }
 
     @PutMapping("/nickname")
@@ -36,26 +41,49 @@ public class UserController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<UserSearchResponseDto>> searchUser(
+    public ResponseEntity<CursorPageResponseDto<UserSearchResponseDto>> searchUser(
             @RequestParam String nickname,
-            @AuthenticationPrincipal User user
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthPrincipal principal
     ) {
-        return ResponseEntity.ok(userService.searchUser(nickname, user));
+        return ResponseEntity.ok(userService.searchUser(nickname, cursor, size, principal.id()));
+    }
+
+    // 입력 중 자동완성용 가벼운 검색 (닉네임, 이메일, 접속 여부만)
+    @GetMapping("/search/typeahead")
+    public ResponseEntity<List<UserTypeaheadResponseDto>> typeahead(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal AuthPrincipal principal
+    ) {
+        return ResponseEntity.ok(typeaheadService.suggest(q, limit, principal.id()));
     }
 
     @GetMapping("following")
-    public ResponseEntity<List<UserSearchResponseDto>> getFollowings(Principal principal) {
-        return ResponseEntity.ok(userService.getFollowings(principal));
+    public ResponseEntity<CursorPageResponseDto<UserSearchResponseDto>> getFollowings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Principal principal
+    ) {
+        return ResponseEntity.ok(userService.getFollowings(principal, cursor, size));
     }
 
     @GetMapping("follower")
-    public ResponseEntity<List<UserSearchResponseDto>> getFollowers(Principal principal) {
-        return ResponseEntity.ok(userService.getFollowers(principal));
+    public ResponseEntity<CursorPageResponseDto<UserSearchResponseDto>> getFollowers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Principal principal
+    ) {
+        return ResponseEntity.ok(userService.getFollowers(principal, cursor, size));
     }
 
     @GetMapping("/rank")
-    public ResponseEntity<UserRankResponseDto> getRanks(Principal principal) {
-        return ResponseEntity.ok(userService.getRanks(principal));
+    public ResponseEntity<UserRankResponseDto> getRanks(
+            @RequestParam(defaultValue = "all") String window,
+            Principal principal
+    ) {
+        return ResponseEntity.ok(userService.getRanks(principal, RankWindow.from(window)));
     }
 
 }
@@ -0,0 +1,6 @@
+package com.web.back.dto.focus;
+
+import java.time.LocalDate;
+
+public record DailyFocusDto(LocalDate date, long focusSec) {
+}
@@ -0,0 +1,18 @@
+package com.web.back.dto.focus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 집중 통계 (히트맵 / 차트용)
+ * - daily: from ~ to 의 모든 날짜 (기록이 없는 날은 0)
+ * - hourOfDay: 같은 기간의 0시 ~ 23시 시간대별 합계
+ */
+public record FocusStatsResponseDto(
+        LocalDate from,
+        LocalDate to,
+        long totalFocusSec,
+        List<DailyFocusDto> daily,
+        List<Long> hourOfDay
+) {
+}
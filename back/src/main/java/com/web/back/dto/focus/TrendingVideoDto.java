@@ -0,0 +1,7 @@
+package com.web.back.dto.focus;
+
+/**
+ * score: 최근 재생일수록 크게 반영되는(반감기 감쇠) 재생 횟수 추정치
+ */
+public record TrendingVideoDto(String videoId, double score) {
+}
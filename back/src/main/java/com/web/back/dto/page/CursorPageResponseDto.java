@@ -0,0 +1,17 @@
+package com.web.back.dto.page;
+
+import java.util.List;
+
+/**
+ * 키셋 페이지 응답
+ * nextCursor 를 그대로 다음 요청의 cursor 로 넘기면 이어지는 페이지를 받습니다. (마지막 페이지면 null)
+ */
+public record CursorPageResponseDto<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasNext
+) {
+    public static <T> CursorPageResponseDto<T> of(List<T> items, String nextCursor) {
+        return new CursorPageResponseDto<>(items, nextCursor, nextCursor != null);
+    }
+}
@@ -0,0 +1,56 @@
+package com.web.back.dto.page;
+
+import com.web.back.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 키셋 페이지네이션 커서 인코더
+ * 마지막으로 내려준 행의 정렬 키를 base64url 로 감싼 불투명한 문자열입니다.
+ * 클라이언트는 내용을 해석하지 않고 그대로 돌려보내기만 하면 됩니다.
+ */
+public final class PageCursor {
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "\u001F";
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 50;
+
+    private PageCursor() {}
+
+    public static String encode(String... parts) {
+        String raw = VERSION + SEPARATOR + String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서를 parts 개의 조각으로 되돌립니다. 마지막 조각은 구분자를 포함해도 그대로 보존됩니다.
+     */
+    public static List<String> decode(String cursor, int parts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] tokens = raw.split(SEPARATOR, parts + 1);
+            if (tokens.length != parts + 1 || !VERSION.equals(tokens[0])) {
+                throw new BadRequestException("잘못된 페이지 커서입니다.");
+            }
+            return List.of(tokens).subList(1, tokens.length);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("잘못된 페이지 커서입니다.");
+        }
+    }
+
+    public static long decodeLong(String cursor) {
+        try {
+            return Long.parseLong(decode(cursor, 1).get(0));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("잘못된 페이지 커서입니다.");
+        }
+    }
+
+    public static int clampSize(int size) {
+        if (size <= 0) return DEFAULT_SIZE;
+        return Math.min(size, MAX_SIZE);
+    }
+}
@@ -0,0 +1,8 @@
+package com.web.back.dto.pet;
+
+public record PetAlertDto(
+        double threshold,
+        double happiness,
+        double boredom
+) {
+}
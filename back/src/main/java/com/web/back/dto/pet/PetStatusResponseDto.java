@@ -1,15 +1,15 @@
 package com.web.back.dto.pet;
 
-import com.web.back.entity.Pet;
+import com.web.back.service.pet.PetStateEngine.PetState;
 
 public record PetStatusResponseDto(
         double happiness,
         double boredom
 ) {
-    public static PetStatusResponseDto from(Pet pet) {
+    public static PetStatusResponseDto from(PetState state) {
         return new PetStatusResponseDto(
-                pet.getHappiness(),
-                pet.getBoredom()
+                state.happiness(),
+                state.boredom()
         );
     }
 }
@@ -2,6 +2,7 @@ package com.web.back.dto.user;
 
 import com.web.back.entity.User;
 import com.web.back.enums.UserRole;
+import com.web.back.service.pet.PetStateEngine.PetState;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -17,7 +18,7 @@ public record UserResponseDto(
         double petHappiness,
         double petBoredom
 ) {
-    public static UserResponseDto from(User user) {
+    public static UserResponseDto from(User user, PetState petState) {
         return new UserResponseDto(
                 user.getId(),
                 user.getEmail(),
@@ -26,8 +27,8 @@ public record UserResponseDto(
                 user.getRole(),
                 user.getCreatedAt(),
                 user.getPet().getName(),
-                user.getPet().getHappiness(),
-                user.getPet().getCalculatedBoredom()
+                petState.happiness(),
+                petState.boredom()
         );
     }
 }
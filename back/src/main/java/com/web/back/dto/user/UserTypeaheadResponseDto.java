@@ -0,0 +1,8 @@
+package com.web.back.dto.user;
+
+public record UserTypeaheadResponseDto(
+        String nickname,
+        String email,
+        boolean isOnline
+) {
+}
@@ -10,16 +10,26 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+// end_at 기준 RANGE 파티셔닝(FocusLogPartitionManager)이 가능하도록
+// 유니크 키에는 end_at 을 포함하고, 파티션 테이블이 지원하지 않는 FK 는 만들지 않습니다.
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        indexes = @Index(name = "idx_focus_log_end_at", columnList = "end_at"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_focus_log_source", columnNames = {"source_id", "end_at"})
+)
 public class FocusLog {
+    public static final String SEQUENCE_NAME = "focus_log_seq";
+
+    // IDENTITY 는 insert batch 가 불가능하므로 50개씩 미리 할당받는 시퀀스 사용 (FocusLogIdAllocator 와 공유)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "focus_log_seq")
+    @SequenceGenerator(name = "focus_log_seq", sequenceName = FocusLog.SEQUENCE_NAME, allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User user;
 
     @Column(nullable = false)
@@ -28,8 +38,17 @@ public class FocusLog {
     @Column(nullable = false)
     private LocalDateTime endAt;
 
+    // 쓰기 지연 큐에서 넘어온 완료 이벤트 ID (재처리 시 중복 저장 방지)
+    @Column(name = "source_id", length = 36)
+    private String sourceId;
+
     @ElementCollection
-    @CollectionTable(name = "focus_log_videos", joinColumns = @JoinColumn(name = "focus_log_id"))
+    @CollectionTable(
+            name = "focus_log_videos",
+            joinColumns = @JoinColumn(name = "focus_log_id"),
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT),
+            indexes = @Index(name = "idx_focus_log_videos_log_id", columnList = "focus_log_id")
+    )
     @Column(name = "video_id")
     private List<String> videoIds = new ArrayList<>();
 
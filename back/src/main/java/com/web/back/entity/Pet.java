@@ -5,9 +5,8 @@ import lombok.*;
 
 import java.time.LocalDateTime;
 
-import static java.time.Duration.between;
-
 @Entity
+@EntityListeners(PetStateListener.class)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Pet {
@@ -24,6 +23,7 @@ public class Pet {
     @Column(nullable = false)
     private String name;
 
+    // 행복도 / 심심함은 증분 또는 compare-and-set UPDATE 로만 변경합니다. (PetRepository, FocusWriteBehind)
     @Column(nullable = false)
     private double happiness;
 
@@ -40,40 +40,8 @@ public class Pet {
         this.boredom = 0;
     }
 
-    private static final double BOREDOM_INCREASE_RATE = 0.028;
-    private static final double HAPPINESS_DECREASE_RATE = 0.00055; // 초당 감소량
-
     // 헬퍼 메서드
     public void changeNickname(String nickname) {
         this.name = nickname;
     }
-
-    // 상태 업데이트 시 시간을 갱신하는 메서드
-    public void changeStatus(double happiness, double boredom) {
-        this.happiness = happiness;
-        this.boredom = boredom;
-        this.lastUpdated = LocalDateTime.now(); // 업데이트 시점 기록
-    }
-
-
-    // 현재 심심함을 계산하여 반환하는 로직
-    public double getCalculatedBoredom() {
-        if (this.lastUpdated == null) return this.boredom;
-
-        long secondsPassed = between(this.lastUpdated, LocalDateTime.now()).getSeconds();
-        double addedBoredom = secondsPassed * BOREDOM_INCREASE_RATE;
-
-        // 최대치 100 제한
-        return Math.min(this.boredom + addedBoredom, 100);
-    }
-
-    public double getCalculatedHappiness() {
-        if (this.lastUpdated == null) return this.happiness;
-
-        long secondsPassed = java.time.Duration.between(this.lastUpdated, java.time.LocalDateTime.now()).getSeconds();
-        double decreasedHappiness = secondsPassed * HAPPINESS_DECREASE_RATE;
-
-        // 최소치 0 제한
-        return Math.max(this.happiness - decreasedHappiness, 0);
-    }
 }
@@ -0,0 +1,24 @@
+package com.web.back.entity;
+
+import com.web.back.event.PetStatusChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Pet 이 저장될 때마다 PetStatusChangedEvent 를 발행하는 JPA 엔티티 리스너
+ * (Hibernate 가 스프링 빈 컨테이너로 생성하므로 생성자 주입을 사용할 수 있습니다.)
+ */
+@RequiredArgsConstructor
+public class PetStateListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Pet pet) {
+        if (pet.getUser() == null) return;
+        eventPublisher.publishEvent(new PetStatusChangedEvent(
+                pet.getUser().getEmail(), pet.getHappiness(), pet.getBoredom(), pet.getLastUpdated()));
+    }
+}
@@ -1,6 +1,5 @@
 package com.web.back.entity;
 
-import com.web.back.enums.FriendStatus;
 import com.web.back.enums.UserRole;
 import jakarta.persistence.*;
 import lombok.*;
@@ -12,7 +11,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Entity
 @Getter
@@ -29,6 +27,7 @@ public class User implements UserDetails {
     @Column(unique = true, nullable = false)
     private String nickname;
 
+    // 엔티티에서 읽고 더해 쓰면 동시에 끝난 세션이 사라지므로 DB 증분 UPDATE 로만 변경합니다. (FocusWriteBehind)
     @Column(name = "total_focus_sec", nullable = false, columnDefinition = "bigint default 0")
     private Long totalFocusSec;
 
@@ -84,73 +83,6 @@ public class User implements UserDetails {
         this.setPet(defaultPet);
     }
 
-    public void addFocusTime(long seconds) {
-        if (seconds > 0) {
-            this.totalFocusSec += seconds;
-        }
-    }
-
-    public void toggleFollow(User targetUser) {
-        if (this.equals(targetUser)) {
-            throw new IllegalArgumentException("자기 자신은 팔로우할 수 없습니다.");
-        }
-
-        // 이미 관계가 있는지 확인
-        Optional<Friend> existingRelation = this.followingList.stream()
-                .filter(f -> f.getFollowing().equals(targetUser))
-                .findFirst();
-
-        if (existingRelation.isPresent()) {
-            // 이미 팔로우 중이거나 차단 중이라면 관계 삭제
-            Friend relation = existingRelation.get();
-            this.followingList.remove(relation);
-            targetUser.getFollowerList().remove(relation);
-        } else {
-            // 2. 관계가 없다면 -> 새로 팔로우
-            Friend newFriend = Friend.builder()
-                    .follower(this)
-                    .following(targetUser)
-                    .status(FriendStatus.FOLLOW)
-                    .build();
-            this.followingList.add(newFriend);
-            targetUser.getFollowerList().add(newFriend);
-        }
-    }
-
-    public void block(User targetUser) {
-        Optional<Friend> existingRelation = this.followingList.stream()
-                .filter(f -> f.getFollowing().equals(targetUser))
-                .findFirst();
-        if (existingRelation.isPresent()) {
-            existingRelation.get().updateStatus(FriendStatus.BLOCK);
-        } else {
-            Friend blockRelation = Friend.builder()
-                    .follower(this)
-                    .following(targetUser)
-                    .status(FriendStatus.BLOCK)
-                    .build();
-            this.followingList.add(blockRelation);
-        }
-    }
-
-    public boolean isFollowing(User target) {
-        return followingList.stream()
-                .anyMatch(f -> f.getFollowing().equals(target));
-    }
-
-    public boolean isMutualFriend(User target) {
-        // 나도 상대를 팔로우하고, 상대도 나를 팔로우 중인지 확인
-        boolean iFollowTarget = this.isFollowing(target);
-        boolean targetFollowsMe = target.getFollowingList().stream()
-                .anyMatch(f -> f.getFollowing().equals(this));
-        return iFollowTarget && targetFollowsMe;
-    }
-
-
-    public void updatePetStatus(double happiness, double boredom) {
-        this.pet.changeStatus(happiness, boredom);
-    }
-
     // UserDetails
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -0,0 +1,35 @@
+package com.web.back.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// 유저별 하루(KST) 집중 시간 집계. 집중 세션 반영 시 증분으로만 갱신하고(FocusRollup), FocusStatsService 가 JDBC 로 읽습니다.
+// 원본 로그(focus_log)보다 오래 보관하므로 FK 는 두지 않습니다.
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "user_focus_daily")
+public class UserFocusDaily {
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "focus_sec", nullable = false)
+    private long focusSec;
+
+    @Embeddable
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Column(name = "user_id", nullable = false)
+        private UUID userId;
+
+        @Column(name = "stat_date", nullable = false)
+        private LocalDate statDate;
+    }
+}
@@ -0,0 +1,34 @@
+package com.web.back.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 유저별 한 시간(KST, 정시 기준) 집중 시간 집계. 시간대별 차트용 (FocusRollup)
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "user_focus_hourly")
+public class UserFocusHourly {
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "focus_sec", nullable = false)
+    private long focusSec;
+
+    @Embeddable
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Column(name = "user_id", nullable = false)
+        private UUID userId;
+
+        @Column(name = "stat_hour", nullable = false)
+        private LocalDateTime statHour;
+    }
+}
@@ -0,0 +1,9 @@
+package com.web.back.enums;
+
+/**
+ * 인증 필터가 AuthPrincipal 을 만드는 방식
+ */
+public enum AuthPrincipalMode {
+    CLAIMS,   // 검증된 JWT 클레임으로 바로 생성 (Redis 의 토큰 버전만 확인, DB 조회 없음)
+    DATABASE  // 이메일로 유저를 조회 (PrincipalCache 경유)
+}
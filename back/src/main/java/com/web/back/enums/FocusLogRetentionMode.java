@@ -0,0 +1,9 @@
+package com.web.back.enums;
+
+/**
+ * 오래된 집중 세션 로그 정리 방식
+ */
+public enum FocusLogRetentionMode {
+    PARTITION, // 월별 RANGE 파티션을 통째로 DROP (파티셔닝되지 않은 테이블이면 CHUNKED 로 동작)
+    CHUNKED    // 기본 키 기준으로 일정 개수씩 나누어 DELETE
+}
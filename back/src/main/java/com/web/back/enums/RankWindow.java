@@ -0,0 +1,21 @@
+package com.web.back.enums;
+
+import com.web.back.exception.BadRequestException;
+
+import java.util.Locale;
+
+public enum RankWindow {
+    ALL,
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    public static RankWindow from(String value) {
+        if (value == null || value.isBlank()) return ALL;
+        try {
+            return RankWindow.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("지원하지 않는 랭킹 기간입니다: " + value);
+        }
+    }
+}
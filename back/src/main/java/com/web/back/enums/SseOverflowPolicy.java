@@ -0,0 +1,10 @@
+package com.web.back.enums;
+
+/**
+ * SSE 연결별 전송 큐가 가득 찼을 때의 처리 방식
+ */
+public enum SseOverflowPolicy {
+    DROP_OLDEST, // 가장 오래된 이벤트를 버림
+    COALESCE,    // 같은 이름의 대기 이벤트를 최신 이벤트로 대체 (없으면 가장 오래된 이벤트를 버림)
+    DISCONNECT   // 따라오지 못하는 클라이언트로 보고 연결을 끊음
+}
@@ -0,0 +1,19 @@
+package com.web.back.enums;
+
+import com.web.back.exception.BadRequestException;
+
+import java.util.Locale;
+
+public enum TrendingScope {
+    GLOBAL,
+    FRIENDS;
+
+    public static TrendingScope from(String value) {
+        if (value == null || value.isBlank()) return GLOBAL;
+        try {
+            return TrendingScope.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("지원하지 않는 인기 음악 범위입니다: " + value);
+        }
+    }
+}
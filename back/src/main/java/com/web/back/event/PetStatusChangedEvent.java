@@ -0,0 +1,9 @@
+package com.web.back.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 펫의 행복도 / 심심함이 저장되었을 때 발행됩니다. (PetStateListener)
+ */
+public record PetStatusChangedEvent(String ownerEmail, double happiness, double boredom, LocalDateTime lastUpdated) {
+}
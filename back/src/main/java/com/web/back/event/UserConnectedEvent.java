@@ -0,0 +1,7 @@
+package com.web.back.event;
+
+/**
+ * 유저가 이 노드에 SSE 로 연결되었을 때 발행됩니다.
+ */
+public record UserConnectedEvent(String email) {
+}
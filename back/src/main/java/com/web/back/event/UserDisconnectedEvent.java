@@ -0,0 +1,7 @@
+package com.web.back.event;
+
+/**
+ * 유저의 SSE 연결이 이 노드에서 정리되었을 때 발행됩니다.
+ */
+public record UserDisconnectedEvent(String email) {
+}
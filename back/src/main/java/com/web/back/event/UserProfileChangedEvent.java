@@ -0,0 +1,10 @@
+package com.web.back.event;
+
+import java.util.UUID;
+
+/**
+ * 유저가 생성되거나 닉네임이 바뀌었을 때 발행됩니다.
+ * 신규 가입이면 previousNickname 은 null 입니다.
+ */
+public record UserProfileChangedEvent(UUID userId, String email, String previousNickname, String nickname) {
+}
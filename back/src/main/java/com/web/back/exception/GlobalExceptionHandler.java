@@ -1,6 +1,7 @@
 package com.web.back.exception;
 
 import com.web.back.dto.exception.ErrorResponseRecord;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -56,8 +57,10 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler({
             EmailExistsException.class,
+            NicknameExistsException.class,
             ParticipantExistsException.class,
-            MemberMaxException.class
+            MemberMaxException.class,
+            OptimisticLockingFailureException.class
     })
     public ResponseEntity<ErrorResponseRecord> handleConflictException(Exception ex, WebRequest request) {
         return buildErrorResponse(ex, HttpStatus.CONFLICT, request);
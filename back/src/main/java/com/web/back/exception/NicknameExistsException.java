@@ -0,0 +1,7 @@
+package com.web.back.exception;
+
+public class NicknameExistsException extends RuntimeException {
+    public NicknameExistsException(String message) {
+        super(message);
+    }
+}
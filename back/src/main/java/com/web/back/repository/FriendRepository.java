@@ -1,9 +1,86 @@
 package com.web.back.repository;
 
 import com.web.back.entity.Friend;
-import com.web.back.entity.User;
+import com.web.back.repository.projection.FriendEdgeView;
+import com.web.back.repository.projection.FriendUserView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 public interface FriendRepository extends JpaRepository<Friend, Long> {
-    boolean existsByFollowerAndFollowing(User follower, User following);
+    // (follower_id, following_id) 유니크 인덱스로 관계 한 건만 조회
+    Optional<Friend> findByFollowerIdAndFollowingId(UUID followerId, UUID followingId);
+
+    // 나와 대상들 사이의 양방향 관계를 한 번에 조회
+    @Query("""
+            select new com.web.back.repository.projection.FriendEdgeView(f.follower.id, f.following.id, f.status)
+            from Friend f
+            where (f.follower.id = :userId and f.following.id in :targetIds)
+               or (f.following.id = :userId and f.follower.id in :targetIds)
+            """)
+    List<FriendEdgeView> findEdgesBetween(@Param("userId") UUID userId, @Param("targetIds") Collection<UUID> targetIds);
+
+    // 내가 팔로우 중인 유저 ID (인기 음악 친구 범위 집계용)
+    @Query("""
+            select f.following.id from Friend f
+            where f.follower.id = :userId and f.status = com.web.back.enums.FriendStatus.FOLLOW
+            """)
+    List<UUID> findFollowingIds(@Param("userId") UUID userId);
+
+    // 나와 어느 방향으로든 차단 관계에 있는 유저 ID
+    @Query("""
+            select case when f.follower.id = :userId then f.following.id else f.follower.id end
+            from Friend f
+            where (f.follower.id = :userId or f.following.id = :userId)
+              and f.status = com.web.back.enums.FriendStatus.BLOCK
+            """)
+    List<UUID> findBlockedEitherWayIds(@Param("userId") UUID userId);
+
+    // 내가 팔로우 중인 유저 목록 (나를 차단한 유저 제외, f.id 키셋 페이지)
+    @Query("""
+            select new com.web.back.repository.projection.FriendUserView(
+                f.id, t.nickname, t.email, p.name, p.happiness, p.boredom, p.lastUpdated,
+                true,
+                case when exists (select 1 from Friend r where r.follower = t and r.following.id = :userId)
+                     then true else false end
+            )
+            from Friend f
+            join f.following t
+            join t.pet p
+            where f.follower.id = :userId
+              and f.id > :afterId
+              and f.status = com.web.back.enums.FriendStatus.FOLLOW
+              and not exists (select 1 from Friend b
+                              where b.follower = t and b.following.id = :userId
+                                and b.status = com.web.back.enums.FriendStatus.BLOCK)
+            order by f.id
+            """)
+    List<FriendUserView> findFollowingViews(@Param("userId") UUID userId, @Param("afterId") long afterId, Limit limit);
+
+    // 나를 팔로우 중인 유저 목록 (내가 차단한 유저 제외, f.id 키셋 페이지)
+    @Query("""
+            select new com.web.back.repository.projection.FriendUserView(
+                f.id, t.nickname, t.email, p.name, p.happiness, p.boredom, p.lastUpdated,
+                case when exists (select 1 from Friend r where r.follower.id = :userId and r.following = t)
+                     then true else false end,
+                true
+            )
+            from Friend f
+            join f.follower t
+            join t.pet p
+            where f.following.id = :userId
+              and f.id > :afterId
+              and f.status = com.web.back.enums.FriendStatus.FOLLOW
+              and not exists (select 1 from Friend b
+                              where b.follower.id = :userId and b.following = t
+                                and b.status = com.web.back.enums.FriendStatus.BLOCK)
+            order by f.id
+            """)
+    List<FriendUserView> findFollowerViews(@Param("userId") UUID userId, @Param("afterId") long afterId, Limit limit);
 }
@@ -1,7 +1,45 @@
 package com.web.back.repository;
 
 import com.web.back.entity.Pet;
+import com.web.back.repository.projection.PetStateView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 public interface PetRepository extends JpaRepository<Pet, Long> {
+
+    @Query("""
+            select new com.web.back.repository.projection.PetStateView(p.happiness, p.boredom, p.lastUpdated)
+            from Pet p
+            where p.user.email = :email
+            """)
+    Optional<PetStateView> findStateByOwnerEmail(@Param("email") String email);
+
+    @Query("""
+            select new com.web.back.repository.projection.PetStateView(p.happiness, p.boredom, p.lastUpdated)
+            from Pet p
+            where p.id = :id
+            """)
+    Optional<PetStateView> findStateById(@Param("id") Long id);
+
+    // 행복도는 증분으로 더해 동시에 들어온 증가분을 잃지 않고,
+    // 심심함은 읽은 상태(last_updated)에서 계산한 값이므로 그 사이 상태가 바뀌지 않았을 때만 씀 (compare-and-set)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update Pet p
+            set p.happiness = p.happiness + :happinessDelta, p.boredom = :boredom, p.lastUpdated = :now
+            where p.id = :id
+              and (p.lastUpdated = :expected or (p.lastUpdated is null and :expected is null))
+            """)
+    int updateStatusIfUnchanged(@Param("id") Long id,
+                                @Param("happinessDelta") double happinessDelta,
+                                @Param("boredom") double boredom,
+                                @Param("now") LocalDateTime now,
+                                @Param("expected") LocalDateTime expected);
 }
@@ -1,8 +1,14 @@
 package com.web.back.repository;
 
 import com.web.back.entity.User;
+import com.web.back.repository.projection.UserRankView;
+import com.web.back.security.AuthPrincipal;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,8 +17,26 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByEmail(String email);
 
-    List<User> findByNicknameContainingAndIdNot(String nickname, UUID userId);
-    List<User> findByEmailContainingAndIdNot(String email, UUID userId);
-    List<User> findTop10ByOrderByTotalFocusSecDesc();
-    long countByTotalFocusSecGreaterThan(Long totalFocusSec);
-}
\ No newline at end of file
+    // 닉네임 중복 확인 (자기 자신 제외)
+    boolean existsByNicknameAndIdNot(String nickname, UUID id);
+
+    // 인증 필터용 스냅샷 (펫 등 연관 엔티티를 로딩하지 않음)
+    @Query("select new com.web.back.security.AuthPrincipal(u.id, u.email, u.role) from User u where u.email = :email")
+    Optional<AuthPrincipal> findPrincipalByEmail(@Param("email") String email);
+
+    @Query("select u.id from User u where u.email = :email")
+    Optional<UUID> findIdByEmail(@Param("email") String email);
+
+    // 검색 결과 표시용 (펫까지 한 번에)
+    @Query("select u from User u join fetch u.pet where u.id in :ids")
+    List<User> findAllWithPetByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select u from User u join fetch u.pet where u.id = :id")
+    Optional<User> findWithPetById(@Param("id") UUID id);
+
+    // 전체 유저 키셋 순회 (리더보드 / 검색 인덱스 재구성용)
+    <T> List<T> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit, Class<T> type);
+
+    // 랭킹 닉네임 조회용
+    List<UserRankView> findByIdIn(Collection<UUID> ids);
+}
@@ -0,0 +1,15 @@
+package com.web.back.repository.projection;
+
+import com.web.back.enums.FriendStatus;
+
+import java.util.UUID;
+
+/**
+ * 두 유저 사이의 관계 한 건 (엔티티 로딩 없이 방향과 상태만 조회)
+ */
+public record FriendEdgeView(
+        UUID followerId,
+        UUID followingId,
+        FriendStatus status
+) {
+}
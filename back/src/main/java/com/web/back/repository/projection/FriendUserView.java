@@ -0,0 +1,19 @@
+package com.web.back.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 팔로잉 / 팔로워 목록 한 줄에 필요한 값 (유저, 펫, 관계 여부를 한 번의 쿼리로 조회)
+ */
+public record FriendUserView(
+        Long relationId,
+        String nickname,
+        String email,
+        String petName,
+        double petHappiness,
+        double petBoredom,
+        LocalDateTime petLastUpdated,
+        boolean following,
+        boolean follower
+) {
+}
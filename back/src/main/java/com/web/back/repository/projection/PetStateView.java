@@ -0,0 +1,9 @@
+package com.web.back.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 펫 상태 계산에 필요한 컬럼만 조회하기 위한 프로젝션
+ */
+public record PetStateView(double happiness, double boredom, LocalDateTime lastUpdated) {
+}
@@ -0,0 +1,13 @@
+package com.web.back.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * 랭킹 계산에 필요한 컬럼만 조회하기 위한 프로젝션
+ * (User 엔티티 전체를 로딩하면 Pet 까지 함께 조회되므로 사용하지 않습니다.)
+ */
+public interface UserRankView {
+    UUID getId();
+    String getNickname();
+    Long getTotalFocusSec();
+}
@@ -0,0 +1,12 @@
+package com.web.back.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * 검색 인덱스 재구성에 필요한 컬럼만 조회하기 위한 프로젝션
+ */
+public interface UserSearchView {
+    UUID getId();
+    String getEmail();
+    String getNickname();
+}
@@ -0,0 +1,37 @@
+package com.web.back.security;
+
+import com.web.back.enums.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 인증된 유저의 불변 스냅샷
+ * 영속성 컨텍스트와 무관하므로 캐시에 보관하거나 여러 요청에서 공유해도 안전합니다.
+ * 변경이 필요한 작업은 id 로 User 엔티티를 다시 조회해서 처리합니다.
+ */
+public record AuthPrincipal(
+        UUID id,
+        String email,
+        UserRole role
+) implements UserDetails {
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return "";
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -1,10 +1,14 @@
 package com.web.back.security;
 
+import com.web.back.enums.AuthPrincipalMode;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,13 +19,19 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class AuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenVersionService tokenVersionService;
+
+    @Value("${auth.principal-mode:CLAIMS}")
+    private AuthPrincipalMode principalMode;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -44,19 +54,42 @@ public class AuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        // JWT 토큰을 검증하고 Optional<String>으로 사용자 이름을 가져옵니다.
-        jwtService.validateAndExtractUsername(token).ifPresent(username -> {
+        // JWT 토큰을 검증하고 클레임을 가져옵니다.
+        jwtService.validateAndGetClaims(token).ifPresent(claims -> {
             // SecurityContext에 이미 인증 정보가 없는 경우에만 실행합니다.
             if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                Authentication authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
-                );
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                resolvePrincipal(claims).ifPresent(userDetails -> {
+                    Authentication authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities()
+                    );
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                });
             }
         });
 
         // 다음 필터로 요청과 응답을 전달합니다.
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * CLAIMS 모드: 클레임으로 바로 principal 을 만들고, Redis 의 토큰 버전만 확인합니다. (DB 조회 없음)
+     * 버전이 올라간(권한 변경, 정지 등) 토큰은 인증하지 않습니다.
+     * Redis 를 확인할 수 없거나 클레임이 부족한 예전 토큰이면 DATABASE 모드로 처리합니다.
+     */
+    private Optional<UserDetails> resolvePrincipal(Claims claims) {
+        if (principalMode == AuthPrincipalMode.CLAIMS) {
+            Optional<AuthPrincipal> principal = jwtService.toPrincipal(claims);
+            if (principal.isPresent()) {
+                try {
+                    if (!tokenVersionService.isCurrent(principal.get().id(), jwtService.tokenVersion(claims))) {
+                        return Optional.empty();
+                    }
+                    return Optional.of(principal.get());
+                } catch (Exception e) {
+                    log.warn("토큰 버전 확인 실패, DB 조회로 대체합니다: {}", e.getMessage());
+                }
+            }
+        }
+        return Optional.of(userDetailsService.loadUserByUsername(claims.getSubject()));
+    }
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 package com.web.back.security;
 
 import com.web.back.entity.User;
+import com.web.back.enums.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
@@ -13,8 +17,14 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Optional;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
@@ -34,8 +44,15 @@ public class JwtService {
     @Value("${jwt.audience}")
     private String audience;
 
+    // 검증을 마친 토큰 캐시 크기 (0 이면 캐시하지 않음)
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    private final TokenVersionService tokenVersionService;
+
     private SecretKey signingKey;
     private JwtParser jwtParser;
+    private Cache<String, Claims> verifiedTokens;
 
     @PostConstruct
     public void init() {
@@ -53,6 +70,15 @@ public class JwtService {
                 .requireAudience(audience)
                 .verifyWith(signingKey)
                 .build();
+
+        // 3. 검증된 토큰 캐시 (토큰 SHA-256 → 클레임, 항목은 토큰의 exp 시각에 만료)
+        if (verifiedCacheMaxSize > 0) {
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheMaxSize)
+                    .expireAfter(Expiry.creating((String key, Claims claims) ->
+                            Duration.between(Instant.now(), claims.getExpiration().toInstant())))
+                    .build();
+        }
     }
 
     private SecretKey getSigningKey() {
@@ -63,6 +89,7 @@ public class JwtService {
         return Jwts.builder()
                 .claim("userId", user.getId())
                 .claim("role", user.getRole())
+                .claim("ver", tokenVersionService.currentVersion(user.getId()))
                 .issuer(issuer)
                 .claim("aud", audience) // "audience" 클레임 설정
                 .subject(user.getUsername())
@@ -72,12 +99,31 @@ public class JwtService {
     }
 
     public Optional<String> validateAndExtractUsername(String token) {
+        return validateAndGetClaims(token).map(Claims::getSubject);
+    }
+
+    /**
+     * 서명 / 만료 / issuer / audience 를 검증한 뒤 클레임을 반환합니다.
+     * 한 번 검증된 토큰은 해시로 캐시해 두고, 만료 전까지는 Base64 디코딩 / JSON 파싱 / HMAC 검증을 생략합니다.
+     */
+    public Optional<Claims> validateAndGetClaims(String token) {
         if (token == null || token.isBlank()) {
             return Optional.empty();
         }
+        String tokenHash = verifiedTokens != null ? hash(token) : null;
+        Claims cached = tokenHash != null ? verifiedTokens.getIfPresent(tokenHash) : null;
+        if (cached != null && cached.getExpiration().after(new Date())) {
+            return Optional.of(cached);
+        }
         try {
             Claims claims = jwtParser.parseSignedClaims(token).getPayload();
-            return Optional.ofNullable(claims.getSubject());
+            if (claims.getSubject() == null) {
+                return Optional.empty();
+            }
+            if (tokenHash != null && claims.getExpiration() != null) {
+                verifiedTokens.put(tokenHash, claims);
+            }
+            return Optional.of(claims);
         } catch (ExpiredJwtException e) {
             log.warn("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
@@ -91,4 +137,41 @@ public class JwtService {
         }
         return Optional.empty();
     }
-}
\ No newline at end of file
+
+    /**
+     * 검증된 클레임만으로 AuthPrincipal 을 만듭니다. userId / role 이 없는 토큰이면 빈 값을 반환합니다.
+     * 닉네임은 토큰 발급 시점의 값입니다.
+     */
+    public Optional<AuthPrincipal> toPrincipal(Claims claims) {
+        String userId = claims.get("userId", String.class);
+        String role = claims.get("role", String.class);
+        if (userId == null || role == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new AuthPrincipal(
+                    UUID.fromString(userId),
+                    claims.getSubject(),
+                    UserRole.valueOf(role)));
+        } catch (IllegalArgumentException e) {
+            log.warn("JWT principal claims are invalid: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // 버전 클레임이 없는 토큰(도입 이전 발급분)은 0 으로 취급
+    public long tokenVersion(Claims claims) {
+        Number version = claims.get("ver", Number.class);
+        return version != null ? version.longValue() : 0L;
+    }
+
+    // 헬퍼 메서드
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
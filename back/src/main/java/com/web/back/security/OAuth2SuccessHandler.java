@@ -2,12 +2,14 @@ package com.web.back.security;
 
 import com.web.back.entity.User;
 import com.web.back.enums.UserRole;
+import com.web.back.event.UserProfileChangedEvent;
 import com.web.back.repository.UserRepository;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
@@ -24,6 +26,7 @@ import java.util.Random;
 public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler{
     private final JwtService jwtService;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${oauth2.success.redirect-url}")
     private String redirectUrl;
@@ -55,7 +58,12 @@ public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler{
                     return newUser;
                 });
 
+        boolean isNewUser = user.getId() == null;
         userRepository.save(user);
+        if (isNewUser) {
+            eventPublisher.publishEvent(
+                    new UserProfileChangedEvent(user.getId(), user.getEmail(), null, user.getNickname()));
+        }
 
         // 3. 토큰 생성 및 리다이렉트
         String token = jwtService.getToken(user);
@@ -0,0 +1,86 @@
+package com.web.back.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.web.back.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 인증 주체(AuthPrincipal) 캐시
+ * - 요청마다 findByEmail 을 하지 않도록 이메일별 스냅샷을 짧은 TTL 의 Caffeine 캐시에 둡니다.
+ * - 권한이 바뀌면 invalidate 로 지우고, Redis 채널로 알려 다른 노드의 캐시도 함께 지웁니다.
+ *   알림을 놓친 노드도 TTL 이 지나면 DB 값으로 다시 채워집니다.
+ */
+@Component
+@Slf4j
+public class PrincipalCache implements MessageListener {
+    private static final String INVALIDATE_CHANNEL = "auth:principal:invalidate";
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Cache<String, AuthPrincipal> cache;
+
+    public PrincipalCache(
+            UserRepository userRepository,
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${auth.principal-cache.max-size:10000}") long maxSize,
+            @Value("${auth.principal-cache.ttl-seconds:60}") long ttlSeconds
+    ) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.principal");
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATE_CHANNEL));
+    }
+
+    /**
+     * 존재하지 않는 유저는 캐시하지 않고 빈 값을 반환합니다.
+     */
+    public Optional<AuthPrincipal> get(String email) {
+        return Optional.ofNullable(cache.get(email, key -> userRepository.findPrincipalByEmail(key).orElse(null)));
+    }
+
+    /**
+     * 권한 변경 후 호출합니다. 이 노드와 다른 노드의 캐시를 모두 지웁니다.
+     */
+    public void invalidate(String email) {
+        cache.invalidate(email);
+        try {
+            redisTemplate.convertAndSend(INVALIDATE_CHANNEL, email);
+        } catch (Exception e) {
+            // 다른 노드는 TTL 만료로 정리되므로 요청을 실패시키지 않음
+            log.warn("인증 캐시 무효화 전파 실패 (이메일: {})", email, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        cache.invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
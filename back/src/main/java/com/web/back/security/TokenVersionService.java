@@ -0,0 +1,56 @@
+package com.web.back.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * 유저별 토큰 버전 (auth:ver:{userId})
+ * 토큰에는 발급 시점의 버전(ver 클레임)이 들어가고, 버전을 올리면 그 이전에 발급된 토큰은 모두 거부됩니다.
+ * 토큰 클레임(role)에 담긴 값이 바뀌거나 계정을 정지할 때 revokeAll 을 호출해, CLAIMS 모드에서 이전 값이 principal 로 쓰이지 않게 합니다.
+ * 닉네임처럼 자주 바뀌는 값은 클레임에 넣지 않습니다. (바뀔 때마다 모든 기기의 로그인이 풀리므로)
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenVersionService {
+    private static final String VERSION_PREFIX = "auth:ver:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 키가 없으면 한 번도 무효화되지 않은 유저이므로 0 입니다.
+     */
+    public long currentVersion(UUID userId) {
+        String version = redisTemplate.opsForValue().get(VERSION_PREFIX + userId);
+        return version != null ? Long.parseLong(version) : 0L;
+    }
+
+    public boolean isCurrent(UUID userId, long tokenVersion) {
+        return tokenVersion >= currentVersion(userId);
+    }
+
+    /**
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 버전을 올립니다. (변경이 롤백되었는데 로그인만 풀리는 일이 없도록)
+     */
+    public void revokeAll(UUID userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                increment(userId);
+            }
+        });
+    }
+
+    // 헬퍼 메서드
+    private void increment(UUID userId) {
+        redisTemplate.opsForValue().increment(VERSION_PREFIX + userId);
+    }
+}
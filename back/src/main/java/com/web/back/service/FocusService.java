@@ -2,12 +2,21 @@ package com.web.back.service;
 
 import com.web.back.dto.focus.FocusRequestDto;
 import com.web.back.dto.focus.FocusResponseDto;
-import com.web.back.entity.FocusLog;
 import com.web.back.entity.Pet;
 import com.web.back.entity.User;
-import com.web.back.repository.FocusLogRepository;
+import com.web.back.enums.RankWindow;
+import com.web.back.event.PetStatusChangedEvent;
 import com.web.back.repository.UserRepository;
+import com.web.back.security.AuthPrincipal;
+import com.web.back.service.focus.FocusCompletion;
+import com.web.back.service.focus.FocusLogRetention;
+import com.web.back.service.focus.FocusWriteBehind;
+import com.web.back.service.pet.PetStateEngine;
+import com.web.back.service.rank.LeaderboardService;
+import com.web.back.service.trending.TrendingMusicService;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.scheduling.annotation.Scheduled;
 import lombok.RequiredArgsConstructor;
@@ -15,23 +24,35 @@ import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class FocusService {
-    private final FocusLogRepository focusLogRepository;
     private final UserRepository userRepository;
-    private static final int RETENTION_DAYS = 90;
+    private final LeaderboardService leaderboardService;
+    private final PetStateEngine petStateEngine;
+    private final FocusWriteBehind focusWriteBehind;
+    private final FocusLogRetention focusLogRetention;
+    private final TrendingMusicService trendingMusicService;
+    private final ApplicationEventPublisher eventPublisher;
 
 
-    @Transactional
-    public FocusResponseDto finishSession(User user, FocusRequestDto request) {
-        User currentUser = userRepository.findByEmail(user.getEmail())
+    /**
+     * 세션 종료를 쓰기 지연 큐(FocusWriteBehind)에 넣고 바로 응답합니다.
+     * 누적 시간은 리더보드 ZSET(ZINCRBY 로 즉시 반영)의 값으로 응답하고, DB 는 배치 작업이 잠시 뒤에 맞춥니다.
+     * 큐에 넣지 못하면(Redis 장애) 같은 경로로 바로 DB 에 반영합니다.
+     * 일간 / 시간별 통계 집계(FocusRollup)도 DB 반영과 같은 트랜잭션에서 증분으로 쌓입니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public FocusResponseDto finishSession(AuthPrincipal principal, FocusRequestDto request) {
+        User currentUser = userRepository.findWithPetById(principal.id())
                 .orElseThrow(() -> new EntityNotFoundException("세션을 업데이트하는 중 해당 유저를 찾지 못했습니다."));
         Pet pet = currentUser.getPet();
 
-        double serverCalculateBoredom = pet.getCalculatedBoredom();
+        double serverCalculateBoredom = petStateEngine.evaluate(pet).boredom();
 
         LocalDateTime startAt = request.startAt();
         LocalDateTime endAt = LocalDateTime.now();
@@ -42,30 +63,37 @@ public class FocusService {
             finalBoredom = serverCalculateBoredom;
         }
 
-        FocusLog log = FocusLog.builder()
-                .user(currentUser)
-                .startAt(startAt)
-                .endAt(endAt)
-                .videoIds(request.videoIds())
-                .build();
-        focusLogRepository.save(log);
-
-        currentUser.addFocusTime(durationSeconds);
-        double nextHappiness = pet.getHappiness() + (durationSeconds / 3600.0);
+        double happinessDelta = durationSeconds / 3600.0;
+        FocusCompletion completion = new FocusCompletion(
+                UUID.randomUUID().toString(),
+                currentUser.getId(),
+                startAt,
+                endAt,
+                request.videoIds() != null ? request.videoIds() : List.of(),
+                happinessDelta,
+                finalBoredom);
+        if (!focusWriteBehind.enqueue(completion)) {
+            focusWriteBehind.writeThrough(completion);
+        }
 
-        pet.changeStatus(nextHappiness, finalBoredom);
+        leaderboardService.addFocusSession(currentUser.getId(), startAt, endAt);
+        trendingMusicService.record(currentUser.getId(), completion.videoIds());
+        // JDBC 로 반영되어 엔티티 리스너가 동작하지 않으므로 펫 알림 예약을 위해 직접 발행
+        eventPublisher.publishEvent(new PetStatusChangedEvent(
+                currentUser.getEmail(), pet.getHappiness() + happinessDelta, finalBoredom, endAt));
 
-        return new FocusResponseDto(user.getTotalFocusSec());
+        long acknowledgedTotal = leaderboardService.scoreOf(
+                RankWindow.ALL, currentUser.getId(), currentUser.getTotalFocusSec() + durationSeconds);
+        return new FocusResponseDto(acknowledgedTotal);
     }
 
     /**
      * 오래된 집중 세션 로그를 주기적으로 삭제합니다. (매일 새벽 5시에 실행)
-     * 데이터가 무한정 쌓이는 것을 방지합니다.
+     * 데이터가 무한정 쌓이는 것을 방지합니다. 파티션 DROP 또는 작은 트랜잭션 단위의 삭제로 처리합니다.
      */
     @Scheduled(cron = "0 0 5 * * ?")
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void cleanupOldFocusLogs() {
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(RETENTION_DAYS);
-        focusLogRepository.deleteByEndAtBefore(cutoffDate);
+        focusLogRetention.purgeExpired();
     }
 }
@@ -1,178 +1,264 @@
 package com.web.back.service;
 
-import com.web.back.dto.share.MusicDto;
+import com.web.back.dto.page.CursorPageResponseDto;
+import com.web.back.dto.page.PageCursor;
 import com.web.back.dto.user.UserRankResponseDto;
+import com.web.back.dto.user.UserResponseDto;
 import com.web.back.dto.user.UserSearchResponseDto;
 import com.web.back.entity.User;
-import com.web.back.enums.FriendStatus;
+import com.web.back.enums.RankWindow;
+import com.web.back.event.UserProfileChangedEvent;
+import com.web.back.exception.BadRequestException;
+import com.web.back.exception.NicknameExistsException;
+import com.web.back.repository.FriendRepository;
 import com.web.back.repository.UserRepository;
-import com.web.back.service.room.RoomService;
+import com.web.back.repository.projection.FriendUserView;
+import com.web.back.repository.projection.UserRankView;
+import com.web.back.security.AuthPrincipal;
+import com.web.back.service.friend.FriendService;
+import com.web.back.service.friend.FriendService.FriendRelation;
+import com.web.back.service.pet.PetStateEngine;
+import com.web.back.service.rank.LeaderboardService;
+import com.web.back.service.presence.PresenceService;
+import com.web.back.service.presence.PresenceService.PresenceStatus;
+import com.web.back.service.search.NgramFieldIndex;
+import com.web.back.service.search.UserSearchIndex;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.security.Principal;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
-    private final StringRedisTemplate redisTemplate;
-    private final RoomService roomService;
+    private final FriendRepository friendRepository;
+    private final FriendService friendService;
+    private final PresenceService presenceService;
+    private final LeaderboardService leaderboardService;
+    private final PetStateEngine petStateEngine;
+    private final UserSearchIndex userSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public UserResponseDto getUserStats(AuthPrincipal principal) {
+        User user = userRepository.findWithPetById(principal.id())
+                .orElseThrow(() -> new EntityNotFoundException("유저 정보를 가져오는 과정에서 해당 유저를 찾을 수 없습니다."));
+        return UserResponseDto.from(user, petStateEngine.evaluate(user.getPet()));
+    }
 
     @Transactional
     public void changeNickname(String nickname, Principal principal) {
         User user = userRepository.findByEmail(principal.getName())
                 .orElseThrow(() -> new EntityNotFoundException("닉네임을 변경하는 과정에서 해당 유저를 찾을 수 없습니다."));
+        if (userRepository.existsByNicknameAndIdNot(nickname, user.getId())) {
+            throw new NicknameExistsException("이미 사용 중인 닉네임입니다.");
+        }
+        String previousNickname = user.getNickname();
         user.changeNickname(nickname);
+        try {
+            // 동시에 같은 닉네임으로 바꾼 경우 유니크 제약 위반을 커밋 전에 확인해 409 로 응답
+            userRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new NicknameExistsException("이미 사용 중인 닉네임입니다.");
+        }
+        eventPublisher.publishEvent(
+                new UserProfileChangedEvent(user.getId(), user.getEmail(), previousNickname, nickname));
     }
 
     @Transactional(readOnly = true)
-    public List<UserSearchResponseDto> searchUser(String query, User user) {
-        if (query == null || query.trim().isEmpty()) return List.of();
-
-        User currentUser = userRepository.findById(user.getId())
-                .orElseThrow(() -> new EntityNotFoundException("유저를 찾을 수 없습니다."));
+    public CursorPageResponseDto<UserSearchResponseDto> searchUser(String query, String cursor, int size, UUID userId) {
+        if (query == null || query.trim().isEmpty()) return CursorPageResponseDto.of(List.of(), null);
 
         String trimmedQuery = query.trim();
-        List<User> searchResults = fetchRawSearchResults(trimmedQuery, currentUser.getId());;
-
-        return searchResults.stream()
-                .filter(target -> isNotBlockedEachOther(currentUser, target))
-                // 정확히 일치하는 값을 리스트 맨 앞으로
-                .sorted((u1, u2) -> compareExactMatch(u1, u2, trimmedQuery))
-                .limit(20)
-                .map(u -> new UserSearchResponseDto(
-                        u.getNickname(),
-                        u.getEmail(),
-                        currentUser.isFollowing(u),
-                        u.isFollowing(currentUser),
-                        u.getPet().getName(),
-                        u.getPet().getCalculatedHappiness(),
-                        u.getPet().getCalculatedBoredom(),
-                        redisTemplate.hasKey("status:" + u.getEmail()),
-                        false,
-                        false
-                ))
+        int pageSize = PageCursor.clampSize(size);
+        NgramFieldIndex.Position position = cursor != null ? decodeSearchCursor(cursor, trimmedQuery) : null;
+
+        // 인덱스에서 순위대로(완전 일치 → 접두어 → 부분 문자열) 후보 ID 만 꺼냄
+        // 차단 관계로 걸러지면 그 다음 위치부터 다시 가져와 pageSize + 1 개를 채움
+        List<NgramFieldIndex.Match> page = new ArrayList<>(pageSize);
+        Map<UUID, FriendRelation> relations = new HashMap<>();
+        boolean hasNext = false;
+        while (!hasNext) {
+            List<NgramFieldIndex.Match> chunk = userSearchIndex.search(trimmedQuery, pageSize + 1, userId, position);
+            if (chunk.isEmpty()) break;
+
+            relations.putAll(friendService.getRelations(
+                    userId, chunk.stream().map(NgramFieldIndex.Match::id).toList()));
+            for (NgramFieldIndex.Match match : chunk) {
+                if (relations.getOrDefault(match.id(), FriendRelation.NONE).isBlockedEitherWay()) continue;
+                if (page.size() == pageSize) {
+                    hasNext = true;
+                    break;
+                }
+                page.add(match);
+            }
+
+            if (chunk.size() <= pageSize) break;
+            position = chunk.get(chunk.size() - 1).position();
+        }
+
+        Map<UUID, User> usersById = userRepository.findAllWithPetByIdIn(
+                        page.stream().map(NgramFieldIndex.Match::id).toList()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<User> targets = page.stream()
+                .map(match -> usersById.get(match.id()))
+                .filter(Objects::nonNull) // 인덱스 반영 전에 탈퇴한 유저
                 .toList();
+
+        Map<String, PresenceStatus> statuses = presenceService.getStatuses(
+                targets.stream().map(User::getEmail).toList());
+
+        // 목록 전체를 같은 시각 기준으로 계산
+        PetStateEngine.Batch petBatch = petStateEngine.batch();
+        List<UserSearchResponseDto> items = targets.stream()
+                .map(u -> {
+                    FriendRelation relation = relations.getOrDefault(u.getId(), FriendRelation.NONE);
+                    PetStateEngine.PetState petState = petBatch.evaluate(u.getPet());
+                    return new UserSearchResponseDto(
+                            u.getNickname(),
+                            u.getEmail(),
+                            relation.following(),
+                            relation.follower(),
+                            u.getPet().getName(),
+                            petState.happiness(),
+                            petState.boredom(),
+                            statuses.getOrDefault(u.getEmail(), PresenceStatus.OFFLINE).online(),
+                            false,
+                            false
+                    );
+                })
+                .toList();
+
+        String nextCursor = hasNext ? encodeSearchCursor(page.get(page.size() - 1).position(), trimmedQuery) : null;
+        return CursorPageResponseDto.of(items, nextCursor);
     }
 
     @Transactional(readOnly = true)
-    public List<UserSearchResponseDto> getFollowings(Principal principal) {
-        User user = userRepository.findByEmail(principal.getName())
+    public CursorPageResponseDto<UserSearchResponseDto> getFollowings(Principal principal, String cursor, int size) {
+        UUID userId = userRepository.findIdByEmail(principal.getName())
                 .orElseThrow(() -> new EntityNotFoundException("팔로잉 목록을 가져오는 과정에서 유저를 찾을 수 없습니다."));
-        return user.getFollowingList().stream()
-                .filter(f -> f.getStatus() == FriendStatus.FOLLOW)
-                .filter(f -> isNotBlockedBy(f.getFollowing(), user))
-                .map(f -> {
-                    User target = f.getFollowing();
-                    // Redis에서 온라인상태 확인
-                    boolean isOnline = redisTemplate.hasKey("status:" + target.getEmail());
-
-                    boolean isMusicPlaying = false;
-                    boolean isRoomFull = false;
-
-                    if (isOnline) {
-                        MusicDto music = roomService.getRoomCurrentMusic(target.getEmail());
-                        isMusicPlaying = (music != null && music.getVideoId() != null);
-
-                        Set<String> participants = roomService.getParticipants(target.getEmail());
-                        int memberCount = (participants != null) ? participants.size() : 0;
-                        isRoomFull = memberCount >= RoomService.MAX_PARTICIPANTS;
-                    }
+        int pageSize = PageCursor.clampSize(size);
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        List<FriendUserView> rows = friendRepository.findFollowingViews(
+                userId, cursor != null ? PageCursor.decodeLong(cursor) : 0L, Limit.of(pageSize + 1));
+        List<FriendUserView> targets = rows.subList(0, Math.min(pageSize, rows.size()));
 
-                    return new UserSearchResponseDto(
-                            target.getNickname(),
-                            target.getEmail(),
-                            true,
-                            target.isFollowing(user),
-                            target.getPet().getName(),
-                            target.getPet().getCalculatedHappiness(),
-                            target.getPet().getCalculatedBoredom(),
-                            isOnline,
-                            isMusicPlaying,
-                            isRoomFull
-                    );
+        // Redis 에서 접속 상태와 방 상태를 한 번에 확인
+        Map<String, PresenceStatus> statuses = presenceService.getStatuses(
+                targets.stream().map(FriendUserView::email).toList());
+
+        PetStateEngine.Batch petBatch = petStateEngine.batch();
+        List<UserSearchResponseDto> items = targets.stream()
+                .map(target -> {
+                    PresenceStatus status = statuses.getOrDefault(target.email(), PresenceStatus.OFFLINE);
+                    return toSearchResponse(target, petBatch, status.online(), status.musicPlaying(), status.roomFull());
                 })
                 .toList();
+        return CursorPageResponseDto.of(items, nextFriendCursor(rows, pageSize));
     }
 
     @Transactional(readOnly = true)
-    public List<UserSearchResponseDto> getFollowers(Principal principal) {
-        User user = userRepository.findByEmail(principal.getName())
+    public CursorPageResponseDto<UserSearchResponseDto> getFollowers(Principal principal, String cursor, int size) {
+        UUID userId = userRepository.findIdByEmail(principal.getName())
                 .orElseThrow(() -> new EntityNotFoundException("팔로워 목록을 가져오는 과정에서 유저를 찾을 수 없습니다."));
-        return user.getFollowerList().stream()
-                .filter(f -> f.getStatus() == FriendStatus.FOLLOW)
-                .filter(f -> isNotBlockedBy(user, f.getFollower()))
-                .map(f -> {
-                    User target = f.getFollower();
-                    boolean isOnline = redisTemplate.hasKey("status:" + target.getEmail());
+        int pageSize = PageCursor.clampSize(size);
+        List<FriendUserView> rows = friendRepository.findFollowerViews(
+                userId, cursor != null ? PageCursor.decodeLong(cursor) : 0L, Limit.of(pageSize + 1));
+        List<FriendUserView> targets = rows.subList(0, Math.min(pageSize, rows.size()));
 
-                    return new UserSearchResponseDto(
-                            target.getNickname(),
-                            target.getEmail(),
-                            user.isFollowing(target),
-                            true,
-                            target.getPet().getName(),
-                            target.getPet().getCalculatedHappiness(),
-                            target.getPet().getCalculatedBoredom(),
-                            isOnline,
-                            false,
-                            false
-                    );
-                })
+        Map<String, PresenceStatus> statuses = presenceService.getStatuses(
+                targets.stream().map(FriendUserView::email).toList());
+
+        PetStateEngine.Batch petBatch = petStateEngine.batch();
+        List<UserSearchResponseDto> items = targets.stream()
+                .map(target -> toSearchResponse(target, petBatch,
+                        statuses.getOrDefault(target.email(), PresenceStatus.OFFLINE).online(), false, false))
                 .toList();
+        return CursorPageResponseDto.of(items, nextFriendCursor(rows, pageSize));
     }
 
-    public UserRankResponseDto getRanks(Principal principal) {
+    public UserRankResponseDto getRanks(Principal principal, RankWindow window) {
         User currentUser = userRepository.findByEmail(principal.getName())
                 .orElseThrow(() -> new EntityNotFoundException("순위를 가져오는 과정에서 로그인중인 유저를 찾을 수 없습니다."));
-        List<User> top10Users = userRepository.findTop10ByOrderByTotalFocusSecDesc();
+        List<LeaderboardService.RankEntry> top10 = leaderboardService.top(window, 10);
+
+        // 닉네임은 바뀔 수 있으므로 ZSET 에는 ID 만 두고 상위 10명만 DB 에서 조회
+        Map<UUID, String> nicknames = userRepository.findByIdIn(
+                        top10.stream().map(LeaderboardService.RankEntry::userId).toList())
+                .stream()
+                .collect(Collectors.toMap(UserRankView::getId, UserRankView::getNickname));
 
         List<UserRankResponseDto.UserRankDto> top10Dto = new ArrayList<>();
-        for (int i = 0 ; i < top10Users.size() ; i++) {
-            User user = top10Users.get(i);
-            top10Dto.add(new UserRankResponseDto.UserRankDto(i + 1, user.getNickname(), user.getTotalFocusSec()));
+        for (int i = 0 ; i < top10.size() ; i++) {
+            LeaderboardService.RankEntry entry = top10.get(i);
+            String nickname = nicknames.get(entry.userId());
+            if (nickname == null) continue; // 탈퇴 등으로 사라진 유저는 다음 재구성 때 정리됨
+            top10Dto.add(new UserRankResponseDto.UserRankDto(i + 1, nickname, entry.score()));
         }
 
-        long countHighers = userRepository.countByTotalFocusSecGreaterThan(currentUser.getTotalFocusSec());
-        int myRankNum = (int) countHighers + 1;
-
+        // 누적 랭킹에 아직 없으면 DB 값을, 기간별 랭킹에 없으면 해당 기간 기록이 없는 것이므로 0 을 사용
+        long fallbackScore = window == RankWindow.ALL ? currentUser.getTotalFocusSec() : 0L;
+        long myScore = leaderboardService.scoreOf(window, currentUser.getId(), fallbackScore);
         UserRankResponseDto.UserRankDto myRankDto = new UserRankResponseDto.UserRankDto(
-                myRankNum,
+                leaderboardService.rankOf(window, myScore),
                 currentUser.getNickname(),
-                currentUser.getTotalFocusSec()
+                myScore
         );
 
         return new UserRankResponseDto(top10Dto, myRankDto);
     }
 
     // 헬퍼메서드
-    private boolean isNotBlockedBy(User subject, User object) {
-        return subject.getFollowingList().stream()
-                .noneMatch(f -> f.getFollowing().equals(object) && f.getStatus() == FriendStatus.BLOCK);
+    private String nextFriendCursor(List<FriendUserView> rows, int pageSize) {
+        if (rows.size() <= pageSize) return null;
+        return PageCursor.encode(String.valueOf(rows.get(pageSize - 1).relationId()));
     }
 
-    private boolean isNotBlockedEachOther(User me, User target) {
-        return isNotBlockedBy(me, target) && isNotBlockedBy(target, me);
+    // 다른 검색어의 커서를 섞어 쓰지 못하도록 정규화된 검색어를 함께 담음
+    private String encodeSearchCursor(NgramFieldIndex.Position position, String query) {
+        return PageCursor.encode(NgramFieldIndex.normalize(query), position.tier().name(), position.sortKey());
     }
 
-    private List<User> fetchRawSearchResults(String query, UUID excludeId) {
-        if (query.contains("@")) {
-            return userRepository.findByEmailContainingAndIdNot(query, excludeId);
+    private NgramFieldIndex.Position decodeSearchCursor(String cursor, String query) {
+        List<String> parts = PageCursor.decode(cursor, 3);
+        if (!parts.get(0).equals(NgramFieldIndex.normalize(query))) {
+            throw new BadRequestException("검색어와 맞지 않는 페이지 커서입니다.");
+        }
+        try {
+            return new NgramFieldIndex.Position(NgramFieldIndex.MatchTier.valueOf(parts.get(1)), parts.get(2));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("잘못된 페이지 커서입니다.");
         }
-        return userRepository.findByNicknameContainingAndIdNot(query, excludeId);
     }
 
-    private int compareExactMatch(User u1, User u2, String query) {
-        boolean u1Exact = u1.getNickname().equals(query) || u1.getEmail().equals(query);
-        boolean u2Exact = u2.getNickname().equals(query) || u2.getEmail().equals(query);
-        return Boolean.compare(u2Exact, u1Exact);
+    private UserSearchResponseDto toSearchResponse(FriendUserView view, PetStateEngine.Batch petBatch,
+                                                   boolean online, boolean musicPlaying, boolean roomFull) {
+        PetStateEngine.PetState petState = petBatch.evaluate(view.petHappiness(), view.petBoredom(), view.petLastUpdated());
+        return new UserSearchResponseDto(
+                view.nickname(),
+                view.email(),
+                view.following(),
+                view.follower(),
+                view.petName(),
+                petState.happiness(),
+                petState.boredom(),
+                online,
+                musicPlaying,
+                roomFull
+        );
     }
 }
@@ -0,0 +1,54 @@
+package com.web.back.service.focus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 아직 DB 에 반영되지 않은 집중 세션 완료 기록 (Redis Stream 한 항목)
+ * - sourceId: 완료 건마다 부여하는 ID. focus_log.source_id 로 저장되어 재처리 시 중복을 막습니다.
+ * - happinessDelta: 펫 행복도 증가량. 여러 건이 쌓여도 더하기로 반영되도록 절대값이 아닌 증분으로 보관합니다.
+ */
+public record FocusCompletion(
+        String sourceId,
+        UUID userId,
+        LocalDateTime startAt,
+        LocalDateTime endAt,
+        List<String> videoIds,
+        double happinessDelta,
+        double boredom
+) {
+    private static final String VIDEO_SEPARATOR = ",";
+
+    public long durationSeconds() {
+        return Math.max(0, Duration.between(startAt, endAt).getSeconds());
+    }
+
+    public Map<String, String> toFields() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("sourceId", sourceId);
+        fields.put("userId", userId.toString());
+        fields.put("startAt", startAt.toString());
+        fields.put("endAt", endAt.toString());
+        fields.put("videoIds", String.join(VIDEO_SEPARATOR, videoIds));
+        fields.put("happinessDelta", Double.toString(happinessDelta));
+        fields.put("boredom", Double.toString(boredom));
+        return fields;
+    }
+
+    public static FocusCompletion fromFields(Map<String, String> fields) {
+        String videoIds = fields.getOrDefault("videoIds", "");
+        return new FocusCompletion(
+                fields.get("sourceId"),
+                UUID.fromString(fields.get("userId")),
+                LocalDateTime.parse(fields.get("startAt")),
+                LocalDateTime.parse(fields.get("endAt")),
+                videoIds.isEmpty() ? List.of() : Arrays.asList(videoIds.split(VIDEO_SEPARATOR)),
+                Double.parseDouble(fields.get("happinessDelta")),
+                Double.parseDouble(fields.get("boredom")));
+    }
+}
@@ -0,0 +1,56 @@
+package com.web.back.service.focus;
+
+import com.web.back.service.retention.RetentionJob;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 보존 기간(focus-log.retention.days)이 지난 focus_log 를 기본 키 순으로 삭제합니다.
+ * 자식(focus_log_videos)은 엔티티 단위 cascade 대신 같은 ID 묶음으로 한 번에 지웁니다.
+ */
+@Component
+public class FocusLogExpiryJob implements RetentionJob {
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final int retentionDays;
+
+    public FocusLogExpiryJob(
+            JdbcTemplate jdbcTemplate,
+            @Value("${focus-log.retention.days:90}") int retentionDays
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.retentionDays = retentionDays;
+    }
+
+    public LocalDateTime cutoff() {
+        return LocalDateTime.now().minusDays(retentionDays);
+    }
+
+    @Override
+    public String name() {
+        return "focus-log";
+    }
+
+    @Override
+    public List<Long> findExpiredIds(long afterId, int limit) {
+        return jdbcTemplate.queryForList(
+                "select id from focus_log where id > ? and end_at < ? order by id limit ?",
+                Long.class, afterId, cutoff(), limit);
+    }
+
+    @Override
+    @Transactional
+    public int deleteByIds(List<Long> ids) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        int videos = namedJdbcTemplate.update("delete from focus_log_videos where focus_log_id in (:ids)", params);
+        return videos + namedJdbcTemplate.update("delete from focus_log where id in (:ids)", params);
+    }
+}
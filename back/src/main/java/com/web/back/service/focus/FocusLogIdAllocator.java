@@ -0,0 +1,67 @@
+package com.web.back.service.focus;
+
+import com.web.back.entity.FocusLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * FocusLog ID 를 JPA 와 같은 시퀀스 생성기(pooled-lo, 50개 단위)에서 꺼내 줍니다.
+ * - JDBC batch insert 에 ID 를 직접 넣을 수 있어 생성된 키를 다시 조회할 필요가 없습니다.
+ * - 시퀀스 호출은 블록을 다 쓸 때만 일어나므로 ID 50개당 한 번입니다.
+ * 기동 시 시퀀스가 기존 데이터(AUTO_INCREMENT 시절 ID)보다 뒤처져 있으면 앞으로 옮깁니다.
+ */
+@Component
+@Slf4j
+public class FocusLogIdAllocator {
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private IdentifierGenerator generator;
+
+    public FocusLogIdAllocator(EntityManager entityManager, EntityManagerFactory entityManagerFactory,
+                               JdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(FocusLog.class)
+                .getGenerator();
+        alignSequence(sessionFactory.getJdbcServices().getDialect());
+    }
+
+    /**
+     * 트랜잭션 안에서 호출해야 합니다. (현재 트랜잭션의 세션 / 커넥션으로 시퀀스를 읽음)
+     */
+    public long next() {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        return ((Number) generator.generate(session, null)).longValue();
+    }
+
+    // 헬퍼 메서드
+    // 생성기가 블록을 받기 전에 실행되어야 하므로 @PostConstruct 에서 한 번만 수행
+    private void alignSequence(Dialect dialect) {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from focus_log", Long.class);
+        if (maxId == null) return;
+
+        String nextValue = dialect.getSequenceSupport().getSequenceNextValString(FocusLog.SEQUENCE_NAME);
+        Long next = jdbcTemplate.queryForObject(nextValue, Long.class);
+        if (next != null && next > maxId) return;
+
+        long restart = maxId + 1;
+        jdbcTemplate.execute("alter sequence " + FocusLog.SEQUENCE_NAME + " restart with " + restart);
+        log.info("focus_log 시퀀스를 기존 최대 ID 이후({})로 맞췄습니다.", restart);
+    }
+}
@@ -0,0 +1,174 @@
+package com.web.back.service.focus;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * focus_log 의 end_at 기준 월별 RANGE COLUMNS 파티션 관리 (MariaDB)
+ * - 파티션 이름 p{yyyyMM} 은 해당 월까지(다음 달 1일 미만)의 행을 담고, p_future(MAXVALUE)가 나머지를 받습니다.
+ * - 매일 months-ahead 개월 앞까지의 파티션을 p_future 에서 미리 떼어 만들어 둡니다. (비어 있는 p_future 만 재구성되므로 즉시 끝남)
+ * - 전환 직후처럼 월 파티션이 하나도 없으면 p_future 에 쌓인 가장 오래된 행의 월부터 나눕니다.
+ *   (전환 스크립트가 월을 하드코딩하지 않아도, 모든 행이 만료 시 DROP 될 월 파티션으로 옮겨짐)
+ * - 보존 기간이 지난 파티션은 DROP PARTITION 으로 행 수와 관계없이 한 번에 지웁니다.
+ *   FK 가 없어 자식(focus_log_videos)은 남으므로, DROP 전에 FocusLogPartitionVideoJob 으로 먼저 지웁니다.
+ * 테이블 전환은 resources/db/focus_log_partitioning.sql 로 한 번 수행하며, 전환되지 않은 테이블에서는 아무것도 하지 않습니다.
+ */
+@Component
+@Slf4j
+public class FocusLogPartitionManager {
+    static final String FUTURE_PARTITION = "p_future";
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("'p'uuuuMM");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    public FocusLogPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            @Value("${focus-log.partition.months-ahead:3}") int monthsAhead
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    /**
+     * focus_log 가 파티셔닝되어 있는지 확인합니다. (information_schema 가 없는 DB 에서는 false)
+     */
+    public boolean isPartitioned() {
+        return !partitionNames().isEmpty();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${focus-log.partition.cron:0 30 4 * * *}")
+    public void ensureFuturePartitions() {
+        List<String> names = partitionNames();
+        if (!names.contains(FUTURE_PARTITION)) return;
+
+        List<YearMonth> existing = monthsOf(names);
+        YearMonth current = YearMonth.now(KST);
+        YearMonth oldest = existing.isEmpty() ? oldestRowMonth().orElse(current) : current;
+        List<YearMonth> missing = missingMonths(existing, oldest, current, monthsAhead);
+        if (missing.isEmpty()) return;
+
+        StringJoiner partitions = new StringJoiner(", ");
+        for (YearMonth month : missing) {
+            partitions.add("partition " + month.format(NAME_FORMAT)
+                    + " values less than ('" + upperBound(month).format(BOUND_FORMAT) + "')");
+        }
+        partitions.add("partition " + FUTURE_PARTITION + " values less than (maxvalue)");
+        try {
+            jdbcTemplate.execute("alter table focus_log reorganize partition " + FUTURE_PARTITION
+                    + " into (" + partitions + ")");
+            log.info("focus_log 파티션 추가: {}", missing);
+        } catch (DataAccessException e) {
+            // 여러 노드가 동시에 뜨면서 다른 노드가 먼저 재구성한 경우 등. 다음 실행에서 다시 확인함
+            log.warn("focus_log 파티션 추가 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 모든 행이 cutoff 이전인 파티션을 DROP 하고, 지운 파티션 수를 반환합니다.
+     */
+    public int dropPartitionsBefore(LocalDateTime cutoff) {
+        List<String> expired = expiredPartitions(partitionNames(), cutoff);
+        if (expired.isEmpty()) return 0;
+
+        jdbcTemplate.execute("alter table focus_log drop partition " + String.join(", ", expired));
+        log.info("focus_log 만료 파티션 삭제: {}", expired);
+        return expired.size();
+    }
+
+    /**
+     * cutoff 기준으로 DROP 될 파티션들이 담는 end_at 의 상한 (DROP 할 파티션이 없으면 empty)
+     * 이 값 미만인 행의 자식을 먼저 지운 뒤 dropPartitionsBefore 를 호출합니다.
+     */
+    public Optional<LocalDateTime> dropBoundBefore(LocalDateTime cutoff) {
+        return dropBound(partitionNames(), cutoff);
+    }
+
+    /**
+     * monthsAhead 개월 뒤까지 중 아직 없는 월 (이미 있는 가장 늦은 월 이후만)
+     * 월 파티션이 하나도 없으면 oldest(p_future 에 있는 가장 오래된 행의 월)부터 시작합니다.
+     */
+    static List<YearMonth> missingMonths(Collection<YearMonth> existing, YearMonth oldest, YearMonth current,
+                                         int monthsAhead) {
+        YearMonth latest = existing.stream().max(Comparator.naturalOrder()).orElse(oldest.minusMonths(1));
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month = latest.plusMonths(1); !month.isAfter(current.plusMonths(monthsAhead));
+             month = month.plusMonths(1)) {
+            missing.add(month);
+        }
+        return missing;
+    }
+
+    /**
+     * 상한(다음 달 1일)이 cutoff 이하인 월 파티션. 가장 최근 월 파티션 하나는 남겨 둡니다. (다음 파티션 추가의 기준점)
+     */
+    static List<String> expiredPartitions(Collection<String> names, LocalDateTime cutoff) {
+        List<YearMonth> months = new ArrayList<>(monthsOf(names));
+        months.sort(Comparator.naturalOrder());
+        if (!months.isEmpty()) months.remove(months.size() - 1);
+
+        return months.stream()
+                .filter(month -> !upperBound(month).isAfter(cutoff))
+                .map(month -> month.format(NAME_FORMAT))
+                .toList();
+    }
+
+    static Optional<LocalDateTime> dropBound(Collection<String> names, LocalDateTime cutoff) {
+        return expiredPartitions(names, cutoff).stream()
+                .map(name -> upperBound(YearMonth.parse(name, NAME_FORMAT)))
+                .max(Comparator.naturalOrder());
+    }
+
+    // 헬퍼 메서드
+    private List<String> partitionNames() {
+        try {
+            return jdbcTemplate.queryForList("""
+                    select partition_name from information_schema.partitions
+                    where table_schema = database() and table_name = 'focus_log' and partition_name is not null
+                    order by partition_ordinal_position
+                    """, String.class);
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
+
+    private Optional<YearMonth> oldestRowMonth() {
+        Timestamp oldest = jdbcTemplate.queryForObject("select min(end_at) from focus_log", Timestamp.class);
+        return Optional.ofNullable(oldest).map(value -> YearMonth.from(value.toLocalDateTime()));
+    }
+
+    private static List<YearMonth> monthsOf(Collection<String> names) {
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : names) {
+            if (FUTURE_PARTITION.equals(name)) continue;
+            try {
+                months.add(YearMonth.parse(name, NAME_FORMAT));
+            } catch (DateTimeParseException e) {
+                log.warn("이름 규칙(pyyyyMM)을 따르지 않는 focus_log 파티션은 관리하지 않습니다: {}", name);
+            }
+        }
+        return months;
+    }
+
+    private static LocalDateTime upperBound(YearMonth month) {
+        return month.plusMonths(1).atDay(1).atStartOfDay();
+    }
+}
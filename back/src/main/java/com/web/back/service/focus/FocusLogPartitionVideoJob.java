@@ -0,0 +1,48 @@
+package com.web.back.service.focus;
+
+import com.web.back.service.retention.RetentionJob;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DROP 할 파티션에 든 집중 세션의 focus_log_videos 를 파티션 DROP 전에 삭제합니다.
+ * 파티션 테이블에는 FK 가 없어 DROP PARTITION 이 자식 행을 지우지 않으므로, 부모가 남아 있을 때 먼저 지웁니다.
+ * end_at < dropBound 조건으로 파티션 프루닝이 되므로 DROP 대상 파티션만 훑습니다. (DROP 할 때마다 새로 만들어 실행)
+ */
+public class FocusLogPartitionVideoJob implements RetentionJob {
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final LocalDateTime dropBound;
+
+    public FocusLogPartitionVideoJob(JdbcTemplate jdbcTemplate, LocalDateTime dropBound) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.dropBound = dropBound;
+    }
+
+    @Override
+    public String name() {
+        return "focus-log-videos-partition";
+    }
+
+    @Override
+    public List<Long> findExpiredIds(long afterId, int limit) {
+        return jdbcTemplate.queryForList("""
+                        select l.id from focus_log l
+                        where l.id > ? and l.end_at < ?
+                          and exists (select 1 from focus_log_videos v where v.focus_log_id = l.id)
+                        order by l.id limit ?
+                        """,
+                Long.class, afterId, dropBound, limit);
+    }
+
+    @Override
+    public int deleteByIds(List<Long> ids) {
+        return namedJdbcTemplate.update("delete from focus_log_videos where focus_log_id in (:ids)",
+                new MapSqlParameterSource("ids", ids));
+    }
+}
@@ -0,0 +1,70 @@
+package com.web.back.service.focus;
+
+import com.web.back.enums.FocusLogRetentionMode;
+import com.web.back.service.retention.RetentionRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 보존 기간이 지난 집중 세션 로그 정리
+ * - PARTITION: DROP 할 월 파티션에 든 세션의 focus_log_videos 를 FocusLogPartitionVideoJob 으로 먼저 지우고 파티션을 DROP 합니다.
+ *   자식이 다 지워지지 않았으면(다른 노드가 실행 중 / 중단) DROP 을 다음 실행으로 미뤄 부모 없는 자식 행이 남지 않게 합니다.
+ * - CHUNKED (또는 파티셔닝되지 않은 테이블): FocusLogExpiryJob 으로 기본 키 순 묶음 삭제를 합니다.
+ * 묶음 삭제는 RetentionRunner 가 묶음 크기 / 쉬는 시간 / 체크포인트를 관리하므로 큰 트랜잭션을 만들지 않습니다.
+ */
+@Component
+@Slf4j
+public class FocusLogRetention {
+    private final RetentionRunner retentionRunner;
+    private final FocusLogPartitionManager partitionManager;
+    private final FocusLogExpiryJob expiryJob;
+    private final JdbcTemplate jdbcTemplate;
+    private final FocusLogRetentionMode mode;
+
+    public FocusLogRetention(
+            RetentionRunner retentionRunner,
+            FocusLogPartitionManager partitionManager,
+            FocusLogExpiryJob expiryJob,
+            JdbcTemplate jdbcTemplate,
+            @Value("${focus-log.retention.mode:CHUNKED}") FocusLogRetentionMode mode
+    ) {
+        this.retentionRunner = retentionRunner;
+        this.partitionManager = partitionManager;
+        this.expiryJob = expiryJob;
+        this.jdbcTemplate = jdbcTemplate;
+        this.mode = mode;
+    }
+
+    /**
+     * 묶음 삭제로 지운 행 수를 반환합니다. (파티션 DROP 으로 지운 행은 세지 않음)
+     */
+    public long purgeExpired() {
+        if (mode == FocusLogRetentionMode.PARTITION) {
+            if (partitionManager.isPartitioned()) {
+                return purgePartitions(expiryJob.cutoff());
+            }
+            log.warn("focus_log 가 파티셔닝되어 있지 않아 CHUNKED 방식으로 정리합니다.");
+        }
+        return retentionRunner.run(expiryJob);
+    }
+
+    // 헬퍼 메서드
+    private long purgePartitions(LocalDateTime cutoff) {
+        Optional<LocalDateTime> dropBound = partitionManager.dropBoundBefore(cutoff);
+        if (dropBound.isEmpty()) return 0;
+
+        FocusLogPartitionVideoJob videoJob = new FocusLogPartitionVideoJob(jdbcTemplate, dropBound.get());
+        long deleted = retentionRunner.run(videoJob);
+        if (!videoJob.findExpiredIds(0, 1).isEmpty()) {
+            log.warn("DROP 할 파티션에 focus_log_videos 가 남아 있어 파티션 DROP 을 다음 실행으로 미룹니다.");
+            return deleted;
+        }
+        partitionManager.dropPartitionsBefore(cutoff);
+        return deleted;
+    }
+}
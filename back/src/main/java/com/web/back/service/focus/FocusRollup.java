@@ -0,0 +1,155 @@
+package com.web.back.service.focus;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * 유저별 일간 / 시간별 집중 시간 집계(user_focus_daily, user_focus_hourly) 관리
+ * - 집중 세션이 DB 에 반영될 때(FocusWriteBehind) 같은 트랜잭션 안에서 증분(upsert)으로 더합니다.
+ *   focus_log.source_id 로 이미 반영된 세션은 건너뛰므로 재처리되어도 두 번 더해지지 않습니다.
+ * - 자정(KST)이나 정시를 넘는 세션은 구간별로 나누어 각각의 날짜 / 시간에 더합니다.
+ * - rebuild 는 원본 로그로 집계를 다시 계산합니다. (FocusRollupBackfill)
+ *   users 행을 먼저 잠그므로, 같은 유저의 세션을 반영하는 쓰기 지연 트랜잭션(users 갱신 후 집계 갱신)과 순서가 겹치지 않습니다.
+ */
+@Component
+public class FocusRollup {
+    private static final String UPSERT_DAILY_ON_DUPLICATE = """
+            insert into user_focus_daily (user_id, stat_date, focus_sec) values (?, ?, ?)
+            on duplicate key update focus_sec = focus_sec + values(focus_sec)
+            """;
+    private static final String UPSERT_HOURLY_ON_DUPLICATE = """
+            insert into user_focus_hourly (user_id, stat_hour, focus_sec) values (?, ?, ?)
+            on duplicate key update focus_sec = focus_sec + values(focus_sec)
+            """;
+    // MariaDB / MySQL 이 아닌 DB (테스트용 H2 등) 는 표준 MERGE 사용
+    private static final String UPSERT_DAILY_MERGE = """
+            merge into user_focus_daily t
+            using (select cast(? as varchar(36)) user_id, cast(? as date) stat_date, cast(? as bigint) focus_sec) s
+            on (t.user_id = s.user_id and t.stat_date = s.stat_date)
+            when matched then update set focus_sec = t.focus_sec + s.focus_sec
+            when not matched then insert (user_id, stat_date, focus_sec) values (s.user_id, s.stat_date, s.focus_sec)
+            """;
+    private static final String UPSERT_HOURLY_MERGE = """
+            merge into user_focus_hourly t
+            using (select cast(? as varchar(36)) user_id, cast(? as timestamp) stat_hour, cast(? as bigint) focus_sec) s
+            on (t.user_id = s.user_id and t.stat_hour = s.stat_hour)
+            when matched then update set focus_sec = t.focus_sec + s.focus_sec
+            when not matched then insert (user_id, stat_hour, focus_sec) values (s.user_id, s.stat_hour, s.focus_sec)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final String upsertDaily;
+    private final String upsertHourly;
+
+    public FocusRollup(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        boolean onDuplicateKey = supportsOnDuplicateKey(jdbcTemplate);
+        this.upsertDaily = onDuplicateKey ? UPSERT_DAILY_ON_DUPLICATE : UPSERT_DAILY_MERGE;
+        this.upsertHourly = onDuplicateKey ? UPSERT_HOURLY_ON_DUPLICATE : UPSERT_HOURLY_MERGE;
+    }
+
+    /**
+     * 새로 저장되는 세션들을 집계에 더합니다. 한 트랜잭션 안에서 호출됩니다.
+     */
+    public void apply(Collection<FocusCompletion> completions) {
+        Map<UUID, Map<LocalDateTime, Long>> daily = new TreeMap<>();
+        Map<UUID, Map<LocalDateTime, Long>> hourly = new TreeMap<>();
+        for (FocusCompletion completion : completions) {
+            accumulate(daily, completion.userId(), completion.startAt(), completion.endAt(), ChronoUnit.DAYS);
+            accumulate(hourly, completion.userId(), completion.startAt(), completion.endAt(), ChronoUnit.HOURS);
+        }
+        upsert(daily, hourly);
+    }
+
+    /**
+     * 주어진 유저들의 from 일자 이후 집계를 focus_log 로부터 다시 계산합니다. 한 트랜잭션 안에서 호출됩니다.
+     * 그 이전 날짜의 집계(원본 로그가 이미 정리되었을 수 있음)는 건드리지 않습니다.
+     */
+    public void rebuild(List<UUID> userIds, LocalDate fromDate) {
+        if (userIds.isEmpty()) return;
+        LocalDateTime from = fromDate.atStartOfDay();
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", userIds.stream().map(UUID::toString).toList())
+                .addValue("logFrom", Timestamp.valueOf(from))
+                .addValue("from", from)
+                .addValue("fromDate", fromDate);
+
+        namedJdbcTemplate.queryForList("select id from users where id in (:ids) for update", params, String.class);
+
+        Map<UUID, Map<LocalDateTime, Long>> daily = new TreeMap<>();
+        Map<UUID, Map<LocalDateTime, Long>> hourly = new TreeMap<>();
+        namedJdbcTemplate.query(
+                "select user_id, start_at, end_at from focus_log where user_id in (:ids) and end_at > :logFrom",
+                params, rs -> {
+                    UUID userId = UUID.fromString(rs.getString("user_id"));
+                    LocalDateTime startAt = rs.getTimestamp("start_at").toLocalDateTime();
+                    LocalDateTime endAt = rs.getTimestamp("end_at").toLocalDateTime();
+                    if (startAt.isBefore(from)) startAt = from;
+                    accumulate(daily, userId, startAt, endAt, ChronoUnit.DAYS);
+                    accumulate(hourly, userId, startAt, endAt, ChronoUnit.HOURS);
+                });
+
+        namedJdbcTemplate.update("delete from user_focus_daily where user_id in (:ids) and stat_date >= :fromDate", params);
+        namedJdbcTemplate.update("delete from user_focus_hourly where user_id in (:ids) and stat_hour >= :from", params);
+        upsert(daily, hourly);
+    }
+
+    /**
+     * [startAt, endAt) 를 unit(일 / 시간) 경계에서 나누어, 구간 시작 시각별 초를 반환합니다.
+     */
+    static Map<LocalDateTime, Long> split(LocalDateTime startAt, LocalDateTime endAt, ChronoUnit unit) {
+        Map<LocalDateTime, Long> segments = new TreeMap<>();
+        LocalDateTime cursor = startAt;
+        while (cursor.isBefore(endAt)) {
+            LocalDateTime bucket = cursor.truncatedTo(unit);
+            LocalDateTime next = bucket.plus(1, unit);
+            LocalDateTime segmentEnd = endAt.isBefore(next) ? endAt : next;
+            long seconds = Duration.between(cursor, segmentEnd).getSeconds();
+            if (seconds > 0) segments.merge(bucket, seconds, Long::sum);
+            cursor = segmentEnd;
+        }
+        return segments;
+    }
+
+    // 헬퍼 메서드
+    private static void accumulate(Map<UUID, Map<LocalDateTime, Long>> target, UUID userId,
+                                   LocalDateTime startAt, LocalDateTime endAt, ChronoUnit unit) {
+        Map<LocalDateTime, Long> buckets = target.computeIfAbsent(userId, id -> new TreeMap<>());
+        split(startAt, endAt, unit).forEach((bucket, seconds) -> buckets.merge(bucket, seconds, Long::sum));
+    }
+
+    /**
+     * 집계 테이블의 날짜 / 시각은 java.time 값 그대로 바인딩합니다. (java.sql.Date 변환 시 JVM 기본 타임존을 타지 않도록)
+     * 키 순서(유저, 시각)대로 반영해 동시에 도는 트랜잭션끼리 교착 상태가 생기지 않도록 합니다.
+     */
+    private void upsert(Map<UUID, Map<LocalDateTime, Long>> daily, Map<UUID, Map<LocalDateTime, Long>> hourly) {
+        List<Object[]> dailyRows = new ArrayList<>();
+        daily.forEach((userId, buckets) -> buckets.forEach((day, seconds) ->
+                dailyRows.add(new Object[]{userId.toString(), day.toLocalDate(), seconds})));
+        List<Object[]> hourlyRows = new ArrayList<>();
+        hourly.forEach((userId, buckets) -> buckets.forEach((hour, seconds) ->
+                hourlyRows.add(new Object[]{userId.toString(), hour, seconds})));
+
+        if (!dailyRows.isEmpty()) jdbcTemplate.batchUpdate(upsertDaily, dailyRows);
+        if (!hourlyRows.isEmpty()) jdbcTemplate.batchUpdate(upsertHourly, hourlyRows);
+    }
+
+    private static boolean supportsOnDuplicateKey(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (product == null) return false;
+        String name = product.toLowerCase(Locale.ROOT);
+        return name.contains("mariadb") || name.contains("mysql");
+    }
+}
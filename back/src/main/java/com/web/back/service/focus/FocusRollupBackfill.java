@@ -0,0 +1,124 @@
+package com.web.back.service.focus;
+
+import com.web.back.repository.UserRepository;
+import com.web.back.repository.projection.UserRankView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 기존 focus_log 로 일간 / 시간별 집계를 채우는 백필
+ * - 집계가 도입되기 전에 쌓인 로그를 위해, 아직 완료 표시(focus:rollup:backfill:done)가 없으면 기동 후 한 번 백그라운드로 실행합니다.
+ * - 유저 ID 순으로 page-size 명씩 FocusRollup.rebuild 하고, 마지막 유저 ID 를 체크포인트로 남겨 중간에 죽어도 이어서 진행합니다.
+ * - 원본 로그가 남아 있는 기간(focus-log.retention.days)만 다시 계산하므로, 여러 번 실행해도 결과가 같습니다.
+ */
+@Component
+@Slf4j
+public class FocusRollupBackfill {
+    static final String DONE_KEY = "focus:rollup:backfill:done";
+    static final String CHECKPOINT_KEY = "focus:rollup:backfill:checkpoint";
+    private static final String LOCK_KEY = "focus:rollup:backfill:lock";
+
+    private static final RedisScript<Long> RELEASE_IF_OWNER = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserRepository userRepository;
+    private final FocusRollup focusRollup;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+    private final int retentionDays;
+    private final Duration lockTtl;
+    private final boolean runOnStartup;
+
+    public FocusRollupBackfill(
+            StringRedisTemplate redisTemplate,
+            UserRepository userRepository,
+            FocusRollup focusRollup,
+            PlatformTransactionManager transactionManager,
+            @Value("${focus-stats.backfill.page-size:200}") int pageSize,
+            @Value("${focus-log.retention.days:90}") int retentionDays,
+            @Value("${focus-stats.backfill.lock-ttl-seconds:3600}") long lockTtlSeconds,
+            @Value("${focus-stats.backfill.on-startup:true}") boolean runOnStartup
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.userRepository = userRepository;
+        this.focusRollup = focusRollup;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageSize = pageSize;
+        this.retentionDays = retentionDays;
+        this.lockTtl = Duration.ofSeconds(lockTtlSeconds);
+        this.runOnStartup = runOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!runOnStartup) return;
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(DONE_KEY))) return;
+        } catch (Exception e) {
+            log.warn("집계 백필 여부를 확인하지 못해 이번 기동에서는 건너뜁니다.", e);
+            return;
+        }
+        Thread worker = new Thread(this::run, "focus-rollup-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 백필을 끝까지 실행하고 처리한 유저 수를 반환합니다. 다른 노드가 실행 중이면 바로 0 을 반환합니다.
+     */
+    public long run() {
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, lockTtl))) {
+            log.info("집계 백필은 다른 노드에서 실행 중입니다.");
+            return 0;
+        }
+        try {
+            // 보존 기간 경계 날짜는 일부 로그가 이미 지워졌을 수 있으므로 그 다음 날부터 다시 계산
+            LocalDate fromDate = LocalDate.now().minusDays(retentionDays).plusDays(1);
+            String checkpoint = redisTemplate.opsForValue().get(CHECKPOINT_KEY);
+            UUID lastId = checkpoint != null ? UUID.fromString(checkpoint) : new UUID(0L, 0L);
+            if (checkpoint != null) log.info("집계 백필을 체크포인트({}) 이후부터 이어서 진행합니다.", checkpoint);
+
+            long total = 0;
+            while (true) {
+                List<UUID> userIds = userRepository.findByIdGreaterThanOrderByIdAsc(
+                                lastId, Limit.of(pageSize), UserRankView.class).stream()
+                        .map(UserRankView::getId)
+                        .toList();
+                if (userIds.isEmpty()) break;
+
+                transactionTemplate.executeWithoutResult(status -> focusRollup.rebuild(userIds, fromDate));
+                total += userIds.size();
+                lastId = userIds.get(userIds.size() - 1);
+                redisTemplate.opsForValue().set(CHECKPOINT_KEY, lastId.toString());
+                if (userIds.size() < pageSize) break;
+            }
+
+            redisTemplate.opsForValue().set(DONE_KEY, LocalDate.now().toString());
+            redisTemplate.delete(CHECKPOINT_KEY);
+            log.info("집중 시간 집계 백필 완료 (유저 수: {}, 기준일: {})", total, fromDate);
+            return total;
+        } catch (Exception e) {
+            log.error("집중 시간 집계 백필 실패 (다음 기동 시 체크포인트부터 이어서 진행)", e);
+            return 0;
+        } finally {
+            redisTemplate.execute(RELEASE_IF_OWNER, List.of(LOCK_KEY), token);
+        }
+    }
+}
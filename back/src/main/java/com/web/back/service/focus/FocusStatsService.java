@@ -0,0 +1,58 @@
+package com.web.back.service.focus;
+
+import com.web.back.dto.focus.DailyFocusDto;
+import com.web.back.dto.focus.FocusStatsResponseDto;
+import com.web.back.security.AuthPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 일간 / 시간별 집계 테이블만 읽어 통계를 만듭니다. (원본 로그를 훑지 않으므로 조회 비용은 기간 일수에 비례)
+ * 두 테이블 모두 기본 키가 (user_id, 날짜/시각) 이므로 범위 조회 한 번씩으로 끝납니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class FocusStatsService {
+    static final int MAX_DAYS = 366;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 오늘을 포함한 최근 days 일의 통계 (1 ~ 366 일로 제한)
+     */
+    public FocusStatsResponseDto getStats(AuthPrincipal principal, int days) {
+        int range = Math.max(1, Math.min(days, MAX_DAYS));
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(range - 1);
+        String userId = principal.id().toString();
+
+        Map<LocalDate, Long> secondsByDay = new HashMap<>();
+        jdbcTemplate.query(
+                "select stat_date, focus_sec from user_focus_daily where user_id = ? and stat_date between ? and ?",
+                rs -> {
+                    secondsByDay.put(rs.getObject("stat_date", LocalDate.class), rs.getLong("focus_sec"));
+                }, userId, from, to);
+
+        List<DailyFocusDto> daily = new ArrayList<>(range);
+        long total = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            long seconds = secondsByDay.getOrDefault(day, 0L);
+            daily.add(new DailyFocusDto(day, seconds));
+            total += seconds;
+        }
+
+        long[] hours = new long[24];
+        jdbcTemplate.query(
+                "select stat_hour, focus_sec from user_focus_hourly where user_id = ? and stat_hour >= ? and stat_hour < ?",
+                rs -> {
+                    hours[rs.getObject("stat_hour", LocalDateTime.class).getHour()] += rs.getLong("focus_sec");
+                }, userId, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+
+        return new FocusStatsResponseDto(from, to, total, daily, Arrays.stream(hours).boxed().toList());
+    }
+}
@@ -0,0 +1,285 @@
+package com.web.back.service.focus;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 집중 세션 완료 기록의 쓰기 지연(write-behind) 파이프라인
+ * - 요청 처리 중에는 Redis Stream(focus:completions)에 XADD 만 하고 바로 응답합니다. (AOF 를 켠 Redis 가 내구성 있는 큐 역할)
+ *   AOF(appendonly yes, appendfsync everysec)는 배포 전제 조건이며(docker-compose.yml), 시작할 때 CONFIG GET 으로 확인해
+ *   꺼져 있으면 경고합니다. 꺼진 채로 Redis 가 재시작되면 아직 DB 에 반영되지 않은 세션이 유실됩니다.
+ * - 스케줄러가 컨슈머 그룹으로 묶음을 읽어 한 트랜잭션 안에서 JDBC batch 로 반영한 뒤 XACK / XDEL 합니다.
+ *   focus_log / focus_log_videos 는 시퀀스에서 미리 받은 ID 로 각각 batch insert 한 번, users 누적 시간은 유저별로 합산해 batch update,
+ *   펫은 행복도는 항상 증분으로, 심심함은 완료 시각 기준(더 최근 상태가 있으면 건너뜀)으로 batch update 합니다.
+ *   일간 / 시간별 집계(FocusRollup)도 users 갱신 뒤에 같은 트랜잭션에서 더합니다.
+ * - 반영 후 ACK 전에 죽으면 같은 항목이 다시 처리되므로 focus_log.source_id 로 이미 저장된 건은 건너뜁니다.
+ * - 죽은 노드가 읽고 ACK 하지 못한 항목은 claim-idle-ms 가 지나면 다른 노드가 가져가 다시 처리합니다.
+ */
+@Component
+@Slf4j
+public class FocusWriteBehind {
+    static final String STREAM_KEY = "focus:completions";
+    static final String GROUP = "focus-writer";
+
+    private static final String INSERT_LOG =
+            "insert into focus_log (id, user_id, start_at, end_at, source_id) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_VIDEO =
+            "insert into focus_log_videos (focus_log_id, video_id) values (?, ?)";
+    private static final String ADD_FOCUS_TIME =
+            "update users set total_focus_sec = total_focus_sec + ? where id = ?";
+    // 행복도 증분은 항상 더하고, 심심함 / 갱신 시각은 완료 시각보다 나중에 바뀐 상태가 있으면 덮어쓰지 않음
+    // (MariaDB 는 SET 을 왼쪽부터 적용하므로 last_updated 비교가 모두 끝난 뒤 last_updated 를 바꿈)
+    private static final String UPDATE_PET = """
+            update pet set happiness = happiness + ?,
+                boredom = case when last_updated is null or last_updated <= ? then ? else boredom end,
+                last_updated = case when last_updated is null or last_updated <= ? then ? else last_updated end
+            where user_id = ?
+            """;
+
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final FocusLogIdAllocator idAllocator;
+    private final FocusRollup focusRollup;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration claimIdle;
+
+    @Getter
+    private final String consumerName = UUID.randomUUID().toString();
+
+    public FocusWriteBehind(
+            StringRedisTemplate redisTemplate,
+            JdbcTemplate jdbcTemplate,
+            FocusLogIdAllocator idAllocator,
+            FocusRollup focusRollup,
+            PlatformTransactionManager transactionManager,
+            @Value("${focus.write-behind.batch-size:500}") int batchSize,
+            @Value("${focus.write-behind.claim-idle-ms:30000}") long claimIdleMillis
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.focusRollup = focusRollup;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.claimIdle = Duration.ofMillis(claimIdleMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        createGroup();
+        if (!isAppendOnly()) {
+            log.warn("Redis AOF(appendonly)가 꺼져 있거나 확인할 수 없습니다. Redis 재시작 시 아직 DB 에 반영되지 않은 "
+                    + "집중 세션이 유실될 수 있으니 appendonly yes / appendfsync everysec 로 설정하세요.");
+        }
+    }
+
+    /**
+     * 완료 기록을 큐에 넣습니다. Redis 에 넣지 못하면 호출한 쪽에서 바로 DB 에 쓰도록 false 를 반환합니다.
+     */
+    public boolean enqueue(FocusCompletion completion) {
+        try {
+            redisTemplate.opsForStream().add(StreamRecords.newRecord().in(STREAM_KEY).ofMap(completion.toFields()));
+            return true;
+        } catch (Exception e) {
+            log.warn("집중 세션 큐 적재 실패, DB 에 바로 반영합니다. (sourceId: {})", completion.sourceId(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 큐를 거치지 않고 바로 반영합니다. (Redis 장애 시 대체 경로)
+     */
+    public void writeThrough(FocusCompletion completion) {
+        transactionTemplate.executeWithoutResult(status -> write(List.of(completion)));
+    }
+
+    @Scheduled(fixedDelayString = "${focus.write-behind.flush-interval-ms:1000}")
+    public void flush() {
+        try {
+            claimAbandoned();
+            // 내가 읽고 아직 ACK 하지 못한 항목(이전 실패, claim 한 항목)부터 처리
+            boolean more = drain(ReadOffset.from("0"));
+            while (more) {
+                more = drain(ReadOffset.from("0"));
+            }
+            more = drain(ReadOffset.lastConsumed());
+            while (more) {
+                more = drain(ReadOffset.lastConsumed());
+            }
+        } catch (Exception e) {
+            log.error("집중 세션 쓰기 지연 반영 실패 (다음 주기에 다시 시도)", e);
+        }
+    }
+
+    /**
+     * CONFIG 명령이 막혀 있는 관리형 Redis 등에서는 확인할 수 없으므로 false 를 반환합니다.
+     */
+    boolean isAppendOnly() {
+        try {
+            Properties config = redisTemplate.execute(
+                    (RedisCallback<Properties>) connection -> connection.serverCommands().getConfig("appendonly"));
+            return config != null && "yes".equalsIgnoreCase(config.getProperty("appendonly"));
+        } catch (Exception e) {
+            log.debug("Redis appendonly 설정 조회 실패", e);
+            return false;
+        }
+    }
+
+    // 헬퍼 메서드
+
+    /**
+     * 한 묶음을 읽어 반영하고, 묶음이 가득 찼으면(더 남아 있을 수 있으면) true 를 반환합니다.
+     */
+    private boolean drain(ReadOffset offset) {
+        List<MapRecord<String, Object, Object>> records = read(offset);
+        if (records.isEmpty()) return false;
+
+        List<FocusCompletion> completions = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            completions.add(FocusCompletion.fromFields(toStringMap(record.getValue())));
+        }
+        transactionTemplate.executeWithoutResult(status -> write(completions));
+
+        RecordId[] ids = records.stream().map(MapRecord::getId).toArray(RecordId[]::new);
+        redisTemplate.opsForStream().acknowledge(STREAM_KEY, GROUP, ids);
+        redisTemplate.opsForStream().delete(STREAM_KEY, ids);
+        return records.size() >= batchSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<MapRecord<String, Object, Object>> read(ReadOffset offset) {
+        try {
+            List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                    Consumer.from(GROUP, consumerName),
+                    StreamReadOptions.empty().count(batchSize),
+                    StreamOffset.create(STREAM_KEY, offset));
+            return records != null ? records : List.of();
+        } catch (RedisSystemException e) {
+            // 스트림이 지워졌거나 그룹이 없는 경우 (NOGROUP) 다시 만들고 다음 주기에 처리
+            createGroup();
+            return List.of();
+        }
+    }
+
+    /**
+     * 다른 컨슈머(죽은 노드)가 읽고 오랫동안 ACK 하지 않은 항목을 가져옵니다.
+     */
+    private void claimAbandoned() {
+        PendingMessages pending;
+        try {
+            pending = redisTemplate.opsForStream().pending(STREAM_KEY, GROUP, Range.unbounded(), batchSize);
+        } catch (RedisSystemException e) {
+            createGroup();
+            return;
+        }
+        if (pending == null || pending.isEmpty()) return;
+
+        RecordId[] abandoned = pending.stream()
+                .filter(message -> !message.getConsumerName().equals(consumerName))
+                .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(claimIdle) >= 0)
+                .map(PendingMessage::getId)
+                .toArray(RecordId[]::new);
+        if (abandoned.length == 0) return;
+
+        redisTemplate.opsForStream().claim(STREAM_KEY, GROUP, consumerName, claimIdle, abandoned);
+        log.info("미처리 집중 세션 {}건을 이어받았습니다.", abandoned.length);
+    }
+
+    private void createGroup() {
+        try {
+            redisTemplate.opsForStream().createGroup(STREAM_KEY, ReadOffset.from("0"), GROUP);
+        } catch (Exception e) {
+            // 이미 그룹이 있으면 BUSYGROUP 오류 → 무시
+        }
+    }
+
+    /**
+     * 한 트랜잭션 안에서 호출됩니다. 이미 저장된 sourceId 는 건너뜁니다.
+     */
+    private void write(List<FocusCompletion> completions) {
+        Set<String> sourceIds = completions.stream().map(FocusCompletion::sourceId).collect(Collectors.toSet());
+        Set<String> existing = new HashSet<>(namedJdbcTemplate.queryForList(
+                "select source_id from focus_log where source_id in (:ids)",
+                new MapSqlParameterSource("ids", sourceIds), String.class));
+
+        Map<String, FocusCompletion> fresh = new LinkedHashMap<>();
+        for (FocusCompletion completion : completions) {
+            if (!existing.contains(completion.sourceId())) fresh.putIfAbsent(completion.sourceId(), completion);
+        }
+        if (fresh.isEmpty()) return;
+        List<FocusCompletion> targets = new ArrayList<>(fresh.values());
+
+        // ID 를 미리 할당해 두면 focus_log / focus_log_videos 를 각각 batch 한 번으로 넣을 수 있음
+        Map<String, Long> logIds = new HashMap<>();
+        for (FocusCompletion completion : targets) {
+            logIds.put(completion.sourceId(), idAllocator.next());
+        }
+        jdbcTemplate.batchUpdate(INSERT_LOG, targets, targets.size(), (ps, completion) -> {
+            ps.setLong(1, logIds.get(completion.sourceId()));
+            ps.setString(2, completion.userId().toString());
+            ps.setTimestamp(3, Timestamp.valueOf(completion.startAt()));
+            ps.setTimestamp(4, Timestamp.valueOf(completion.endAt()));
+            ps.setString(5, completion.sourceId());
+        });
+
+        List<Object[]> videos = new ArrayList<>();
+        for (FocusCompletion completion : targets) {
+            Long logId = logIds.get(completion.sourceId());
+            for (String videoId : completion.videoIds()) {
+                videos.add(new Object[]{logId, videoId});
+            }
+        }
+        if (!videos.isEmpty()) jdbcTemplate.batchUpdate(INSERT_VIDEO, videos);
+
+        Map<UUID, Long> secondsByUser = targets.stream()
+                .collect(Collectors.groupingBy(FocusCompletion::userId, TreeMap::new,
+                        Collectors.summingLong(FocusCompletion::durationSeconds)));
+        jdbcTemplate.batchUpdate(ADD_FOCUS_TIME, secondsByUser.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey().toString()})
+                .toList());
+        // users 행을 잠근 뒤에 갱신 (FocusRollup.rebuild 와 같은 잠금 순서)
+        focusRollup.apply(targets);
+
+        // 같은 유저의 완료가 여러 건이면 끝난 순서대로 적용
+        List<FocusCompletion> byEndAt = targets.stream()
+                .sorted(Comparator.comparing(FocusCompletion::endAt))
+                .toList();
+        jdbcTemplate.batchUpdate(UPDATE_PET, byEndAt, byEndAt.size(), (ps, completion) -> {
+            Timestamp endAt = Timestamp.valueOf(completion.endAt());
+            ps.setDouble(1, completion.happinessDelta());
+            ps.setTimestamp(2, endAt);
+            ps.setDouble(3, completion.boredom());
+            ps.setTimestamp(4, endAt);
+            ps.setTimestamp(5, endAt);
+            ps.setString(6, completion.userId().toString());
+        });
+    }
+
+    private static Map<String, String> toStringMap(Map<Object, Object> value) {
+        return value.entrySet().stream()
+                .collect(Collectors.toMap(entry -> entry.getKey().toString(), entry -> entry.getValue().toString()));
+    }
+}
@@ -1,36 +1,109 @@
 package com.web.back.service.friend;
 
-import com.web.back.entity.User;
+import com.web.back.entity.Friend;
+import com.web.back.enums.FriendStatus;
+import com.web.back.exception.BadRequestException;
 import com.web.back.repository.FriendRepository;
 import com.web.back.repository.UserRepository;
+import com.web.back.repository.projection.FriendEdgeView;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.security.Principal;
+import java.util.*;
 
+/**
+ * 팔로우 / 차단 관계 처리
+ * User 의 followingList / followerList 컬렉션을 초기화하지 않고,
+ * friends 테이블의 (follower_id, following_id) 유니크 인덱스를 직접 조회합니다.
+ */
 @Service
 @RequiredArgsConstructor
 public class FriendService {
     private final FriendRepository friendRepository;
     private final UserRepository userRepository;
 
+    /**
+     * 나와 대상 유저 사이의 관계
+     * following / follower 는 상태(FOLLOW, BLOCK)와 관계없이 해당 방향의 관계가 있는지를 나타냅니다.
+     */
+    public record FriendRelation(boolean following, boolean follower, boolean blockedByMe, boolean blockingMe) {
+        public static final FriendRelation NONE = new FriendRelation(false, false, false, false);
+
+        public boolean isBlockedEitherWay() {
+            return blockedByMe || blockingMe;
+        }
+    }
+
     @Transactional
     public void toggleFollow(String email, Principal principal) {
-        User targetUser = userRepository.findByEmail(email)
+        UUID targetId = userRepository.findIdByEmail(email)
                 .orElseThrow(() -> new EntityNotFoundException("팔로우 하려는 유저를 찾을 수 없습니다."));
-        User user = userRepository.findByEmail(principal.getName())
+        UUID userId = userRepository.findIdByEmail(principal.getName())
                 .orElseThrow(() -> new EntityNotFoundException("팔로우 과정에서 로그인중인 유저를 찾을 수 없습니다."));
-        user.toggleFollow(targetUser);
+        if (userId.equals(targetId)) {
+            throw new BadRequestException("자기 자신은 팔로우할 수 없습니다.");
+        }
+
+        friendRepository.findByFollowerIdAndFollowingId(userId, targetId)
+                // 이미 팔로우 중이거나 차단 중이라면 관계 삭제, 관계가 없다면 새로 팔로우
+                .ifPresentOrElse(
+                        friendRepository::delete,
+                        () -> friendRepository.save(newRelation(userId, targetId, FriendStatus.FOLLOW))
+                );
     }
 
     @Transactional
     public void blockFollower(String email, Principal principal) {
-        User targetUser = userRepository.findByEmail(email)
+        UUID targetId = userRepository.findIdByEmail(email)
                 .orElseThrow(() -> new EntityNotFoundException("차단하는 과정에서 타겟 유저를 찾을 수 없습니다."));
-        User user = userRepository.findByEmail(principal.getName())
+        UUID userId = userRepository.findIdByEmail(principal.getName())
                 .orElseThrow(() -> new EntityNotFoundException("차단하는 과정에서 로그인중인 유저를 찾을 수 없습니다."));
-        user.block(targetUser);
+
+        friendRepository.findByFollowerIdAndFollowingId(userId, targetId)
+                .ifPresentOrElse(
+                        relation -> relation.updateStatus(FriendStatus.BLOCK),
+                        () -> friendRepository.save(newRelation(userId, targetId, FriendStatus.BLOCK))
+                );
+    }
+
+    /**
+     * 내가 차단했거나 나를 차단한 유저 ID 목록
+     */
+    @Transactional(readOnly = true)
+    public Set<UUID> getBlockedEitherWay(UUID userId) {
+        return new HashSet<>(friendRepository.findBlockedEitherWayIds(userId));
+    }
+
+    /**
+     * 여러 대상과의 관계를 쿼리 한 번으로 조회합니다. 관계가 없는 대상은 결과에 포함되지 않습니다.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, FriendRelation> getRelations(UUID userId, Collection<UUID> targetIds) {
+        if (targetIds.isEmpty()) return Map.of();
+
+        Map<UUID, FriendRelation> relations = new HashMap<>();
+        for (FriendEdgeView edge : friendRepository.findEdgesBetween(userId, targetIds)) {
+            boolean outgoing = edge.followerId().equals(userId);
+            UUID targetId = outgoing ? edge.followingId() : edge.followerId();
+            boolean blocked = edge.status() == FriendStatus.BLOCK;
+
+            FriendRelation current = relations.getOrDefault(targetId, FriendRelation.NONE);
+            relations.put(targetId, outgoing
+                    ? new FriendRelation(true, current.follower(), blocked, current.blockingMe())
+                    : new FriendRelation(current.following(), true, current.blockedByMe(), blocked));
+        }
+        return relations;
+    }
+
+    // 헬퍼 메서드
+    private Friend newRelation(UUID followerId, UUID followingId, FriendStatus status) {
+        return Friend.builder()
+                .follower(userRepository.getReferenceById(followerId))
+                .following(userRepository.getReferenceById(followingId))
+                .status(status)
+                .build();
     }
 }
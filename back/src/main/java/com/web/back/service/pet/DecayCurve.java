@@ -0,0 +1,79 @@
+package com.web.back.service.pet;
+
+import java.util.Arrays;
+
+/**
+ * 구간별 선형 증감 곡선
+ * "시작초:초당변화량" 을 쉼표로 이어 적습니다. 예) "0:0.028,3600:0.014" → 1시간까지는 초당 0.028, 이후 0.014
+ * 구간 시작점의 누적값을 미리 계산해 두므로 경과 시간 → 누적 변화량을 O(log 구간 수) 로 구합니다.
+ */
+public final class DecayCurve {
+    private final long[] starts;
+    private final double[] rates;
+    private final double[] cumulative; // 각 구간 시작 시점까지의 누적 변화량
+
+    private DecayCurve(long[] starts, double[] rates) {
+        this.starts = starts;
+        this.rates = rates;
+        this.cumulative = new double[starts.length];
+        for (int i = 1; i < starts.length; i++) {
+            cumulative[i] = cumulative[i - 1] + rates[i - 1] * (starts[i] - starts[i - 1]);
+        }
+    }
+
+    public static DecayCurve linear(double ratePerSecond) {
+        return new DecayCurve(new long[]{0}, new double[]{ratePerSecond});
+    }
+
+    public static DecayCurve parse(String spec) {
+        String[] segments = spec.split(",");
+        long[] starts = new long[segments.length];
+        double[] rates = new double[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            String[] parts = segments[i].trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("잘못된 곡선 구간입니다: " + segments[i]);
+            }
+            starts[i] = Long.parseLong(parts[0].trim());
+            rates[i] = Double.parseDouble(parts[1].trim());
+            if (rates[i] < 0) {
+                throw new IllegalArgumentException("변화량은 음수일 수 없습니다: " + segments[i]);
+            }
+            if (i == 0 ? starts[i] != 0 : starts[i] <= starts[i - 1]) {
+                throw new IllegalArgumentException("구간은 0초부터 오름차순이어야 합니다: " + spec);
+            }
+        }
+        return new DecayCurve(starts, rates);
+    }
+
+    /**
+     * 경과 시간(초) 동안의 누적 변화량
+     */
+    public double deltaAt(long elapsedSeconds) {
+        if (elapsedSeconds <= 0) return 0;
+        int segment = segmentOf(elapsedSeconds);
+        return cumulative[segment] + rates[segment] * (elapsedSeconds - starts[segment]);
+    }
+
+    /**
+     * 누적 변화량이 처음으로 delta 이상이 되는 경과 시간(초). 도달하지 않으면 Long.MAX_VALUE
+     */
+    public long secondsUntil(double delta) {
+        if (delta <= 0) return 0;
+        for (int i = 0; i < starts.length; i++) {
+            boolean last = i == starts.length - 1;
+            double reachable = last ? Double.POSITIVE_INFINITY : cumulative[i + 1];
+            if (delta <= reachable) {
+                if (rates[i] == 0) continue;
+                return starts[i] + (long) Math.ceil((delta - cumulative[i]) / rates[i]);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    // 헬퍼 메서드
+    private int segmentOf(long elapsedSeconds) {
+        int index = Arrays.binarySearch(starts, elapsedSeconds);
+        return index >= 0 ? index : -index - 2;
+    }
+}
@@ -0,0 +1,152 @@
+package com.web.back.service.pet;
+
+import com.web.back.dto.pet.PetAlertDto;
+import com.web.back.event.PetStatusChangedEvent;
+import com.web.back.event.UserConnectedEvent;
+import com.web.back.event.UserDisconnectedEvent;
+import com.web.back.repository.PetRepository;
+import com.web.back.repository.projection.PetStateView;
+import com.web.back.service.pet.PetStateEngine.PetState;
+import com.web.back.service.sse.SseDispatchHub;
+import com.web.back.service.sse.SseService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 접속 중인 유저의 펫이 심심함 임계값(pet.alert.boredom-thresholds)을 넘는 시점에 SSE 로 pet-alert 를 보냅니다.
+ * - 주기적으로 모든 펫을 훑지 않고, 곡선(DecayCurve)으로 임계값 도달 시각을 미리 계산해 그 시각에만 깨어납니다.
+ *   (ScheduledThreadPoolExecutor 의 지연 큐가 도달 시각 순 인덱스 역할을 합니다.)
+ * - 접속 시 DB 상태로 예약하고, 펫 상태가 저장될 때마다(PetStatusChangedEvent) 다시 계산하며, 연결이 끊기면 취소합니다.
+ * - 예약 시각에 DB 상태를 다시 확인하므로 다른 노드에서 상태가 바뀌었더라도 잘못된 알림은 보내지 않습니다.
+ */
+@Component
+@Slf4j
+public class PetAlertScheduler {
+    public static final String EVENT_NAME = "pet-alert";
+    private static final double EPSILON = 1e-9; // 곡선 계산의 부동소수점 오차 허용
+
+    private final PetRepository petRepository;
+    private final PetStateEngine petStateEngine;
+    private final SseDispatchHub dispatchHub;
+    private final SseService sseService;
+    private final double[] thresholds;
+    private final Map<String, List<ScheduledFuture<?>>> alarms = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread thread = new Thread(r, "pet-alert");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PetAlertScheduler(
+            PetRepository petRepository,
+            PetStateEngine petStateEngine,
+            SseDispatchHub dispatchHub,
+            SseService sseService,
+            @Value("${pet.alert.boredom-thresholds:80,100}") double[] thresholds
+    ) {
+        this.petRepository = petRepository;
+        this.petStateEngine = petStateEngine;
+        this.dispatchHub = dispatchHub;
+        this.sseService = sseService;
+        this.thresholds = Arrays.stream(thresholds).sorted().toArray();
+        // 재계산으로 취소된 예약이 큐에 쌓이지 않도록 즉시 제거
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    @EventListener
+    public void onUserConnected(UserConnectedEvent event) {
+        executor.execute(() -> reload(event.email()));
+    }
+
+    @EventListener
+    public void onUserDisconnected(UserDisconnectedEvent event) {
+        cancel(event.email());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPetStatusChanged(PetStatusChangedEvent event) {
+        if (!dispatchHub.isConnected(event.ownerEmail())) return;
+        schedule(event.ownerEmail(), event.happiness(), event.boredom(), event.lastUpdated());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // 헬퍼 메서드
+    private void reload(String email) {
+        try {
+            petRepository.findStateByOwnerEmail(email)
+                    .ifPresentOrElse(
+                            view -> schedule(email, view.happiness(), view.boredom(), view.lastUpdated()),
+                            () -> cancel(email));
+        } catch (Exception e) {
+            log.error("펫 알림 예약 실패 (유저: {})", email, e);
+        }
+    }
+
+    /**
+     * 아직 넘지 않은 임계값마다 도달 시각을 계산해 예약합니다. (기존 예약은 모두 교체)
+     */
+    private void schedule(String email, double happiness, double boredom, LocalDateTime lastUpdated) {
+        PetStateEngine.Batch batch = petStateEngine.batch();
+        double current = batch.evaluate(happiness, boredom, lastUpdated).boredom();
+        long base = lastUpdated != null ? batch.toEpochSecond(lastUpdated) : batch.epochSecond();
+
+        List<ScheduledFuture<?>> futures = new ArrayList<>(thresholds.length);
+        for (double threshold : thresholds) {
+            if (current + EPSILON >= threshold) continue; // 이미 넘은 임계값은 다시 알리지 않음
+
+            long secondsUntil = petStateEngine.boredomCurve().secondsUntil(threshold - boredom);
+            if (secondsUntil == Long.MAX_VALUE) continue;
+            long delay = Math.max(0, base + secondsUntil - batch.epochSecond());
+            futures.add(executor.schedule(() -> fire(email, threshold), delay, TimeUnit.SECONDS));
+        }
+        replace(email, futures);
+    }
+
+    private void fire(String email, double threshold) {
+        if (!dispatchHub.isConnected(email)) {
+            cancel(email);
+            return;
+        }
+        try {
+            PetStateView view = petRepository.findStateByOwnerEmail(email).orElse(null);
+            if (view == null) return;
+
+            PetState state = petStateEngine.batch().evaluate(view.happiness(), view.boredom(), view.lastUpdated());
+            if (state.boredom() + EPSILON >= threshold) {
+                sseService.sendEvent(email, EVENT_NAME, new PetAlertDto(threshold, state.happiness(), state.boredom()));
+            } else {
+                // 그 사이 다른 노드에서 놀아준 경우 새 상태로 다시 계산
+                schedule(email, view.happiness(), view.boredom(), view.lastUpdated());
+            }
+        } catch (Exception e) {
+            log.error("펫 알림 전송 실패 (유저: {})", email, e);
+        }
+    }
+
+    private void replace(String email, List<ScheduledFuture<?>> futures) {
+        List<ScheduledFuture<?>> previous = futures.isEmpty() ? alarms.remove(email) : alarms.put(email, futures);
+        if (previous != null) previous.forEach(future -> future.cancel(false));
+    }
+
+    private void cancel(String email) {
+        replace(email, List.of());
+    }
+}
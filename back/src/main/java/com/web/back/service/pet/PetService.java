@@ -3,20 +3,30 @@ package com.web.back.service.pet;
 import com.web.back.dto.pet.PetStatusResponseDto;
 import com.web.back.entity.Pet;
 import com.web.back.entity.User;
+import com.web.back.event.PetStatusChangedEvent;
 import com.web.back.repository.PetRepository;
 import com.web.back.repository.UserRepository;
+import com.web.back.repository.projection.PetStateView;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.security.Principal;
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
 public class PetService {
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+
     private final PetRepository petRepository;
     private final UserRepository userRepository;
+    private final PetStateEngine petStateEngine;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void changePetNickname(String nickname, Principal principal) {
@@ -27,20 +37,45 @@ public class PetService {
         user.getPet().changeNickname(nickname);
     }
 
-    @Transactional
+    /**
+     * 펫과 상호작용합니다. (행복도 +1, 심심함 -30)
+     * 읽은 뒤 쓰는 사이에 집중 세션 반영 등으로 상태가 바뀌면 다시 읽어 계산합니다. (last_updated 기준 compare-and-set)
+     * 재시도마다 최신 커밋을 읽어야 하므로 트랜잭션 없이 각 쿼리를 따로 실행합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PetStatusResponseDto interactWithPet(Principal principal) {
         User user = findByPrincipal(principal, "펫과의 상호작용 과정에서 해당 유저를 찾을 수 없습니다.");
         Pet pet = user.getPet();
 
-        double currentBoredom = pet.getCalculatedBoredom();
-        double nextBoredom = Math.max(currentBoredom - 30, 0);
-        double nextHappiness = pet.getHappiness() + 1;
-        pet.changeStatus(nextHappiness, nextBoredom);
-        return PetStatusResponseDto.from(pet);
+        PetStateView state = new PetStateView(pet.getHappiness(), pet.getBoredom(), pet.getLastUpdated());
+        for (int attempt = 1; ; attempt++) {
+            double currentBoredom = petStateEngine.batch()
+                    .evaluate(state.happiness(), state.boredom(), state.lastUpdated()).boredom();
+            double nextBoredom = Math.max(currentBoredom - 30, 0);
+            if (petRepository.updateStatusIfUnchanged(
+                    pet.getId(), 1, nextBoredom, LocalDateTime.now(), state.lastUpdated()) == 1) {
+                break;
+            }
+            if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                throw new OptimisticLockingFailureException("펫 상태가 계속 변경되고 있어 상호작용을 반영하지 못했습니다.");
+            }
+            state = findState(pet.getId());
+        }
+
+        // 벌크 업데이트는 엔티티 리스너를 거치지 않으므로 펫 알림 예약을 위해 직접 발행
+        PetStateView saved = findState(pet.getId());
+        eventPublisher.publishEvent(new PetStatusChangedEvent(
+                user.getEmail(), saved.happiness(), saved.boredom(), saved.lastUpdated()));
+        return new PetStatusResponseDto(saved.happiness(), saved.boredom());
     }
 
 
     // 헬퍼 메서드
+    private PetStateView findState(Long petId) {
+        return petRepository.findStateById(petId)
+                .orElseThrow(() -> new EntityNotFoundException("펫 상태를 조회하는 과정에서 해당 펫을 찾을 수 없습니다."));
+    }
+
     public User findByPrincipal(Principal principal, String error) {
         return userRepository.findByEmail(principal.getName())
                 .orElseThrow(() -> new EntityNotFoundException(error));
@@ -0,0 +1,91 @@
+package com.web.back.service.pet;
+
+import com.web.back.entity.Pet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 펫 상태(행복도 / 심심함) 계산기
+ * - 저장된 값과 마지막 갱신 시각으로 현재 상태를 계산합니다. (DB 에는 마지막 갱신 시점의 값만 저장)
+ * - batch() 로 현재 시각을 한 번만 잡아 두고 목록 전체를 같은 시각 기준으로, epoch 초 연산만으로 계산합니다.
+ * - 증감 속도는 pet.decay.*-curve 설정의 구간별 선형 곡선(DecayCurve)으로 바꿀 수 있습니다.
+ */
+@Component
+public class PetStateEngine {
+    public static final double MAX_BOREDOM = 100;
+    public static final double MIN_HAPPINESS = 0;
+
+    private final DecayCurve boredomCurve;
+    private final DecayCurve happinessCurve;
+    private final Clock clock;
+
+    public record PetState(double happiness, double boredom) {}
+
+    @Autowired
+    public PetStateEngine(
+            @Value("${pet.decay.boredom-curve:0:0.028}") String boredomCurve,
+            @Value("${pet.decay.happiness-curve:0:0.00055}") String happinessCurve
+    ) {
+        this(DecayCurve.parse(boredomCurve), DecayCurve.parse(happinessCurve), Clock.systemDefaultZone());
+    }
+
+    PetStateEngine(DecayCurve boredomCurve, DecayCurve happinessCurve, Clock clock) {
+        this.boredomCurve = boredomCurve;
+        this.happinessCurve = happinessCurve;
+        this.clock = clock;
+    }
+
+    public Batch batch() {
+        Instant now = clock.instant();
+        return new Batch(now.getEpochSecond(), clock.getZone().getRules().getOffset(now));
+    }
+
+    public PetState evaluate(Pet pet) {
+        return batch().evaluate(pet);
+    }
+
+    public DecayCurve boredomCurve() {
+        return boredomCurve;
+    }
+
+    /**
+     * 한 시각을 기준으로 여러 펫을 계산합니다.
+     */
+    public final class Batch {
+        private final long now;
+        private final ZoneOffset offset;
+
+        private Batch(long now, ZoneOffset offset) {
+            this.now = now;
+            this.offset = offset;
+        }
+
+        public long epochSecond() {
+            return now;
+        }
+
+        // lastUpdated 는 서버 기본 시간대의 LocalDateTime 으로 저장되어 있음
+        public long toEpochSecond(LocalDateTime lastUpdated) {
+            return lastUpdated.toEpochSecond(offset);
+        }
+
+        public PetState evaluate(double happiness, double boredom, LocalDateTime lastUpdated) {
+            if (lastUpdated == null) return new PetState(happiness, boredom);
+
+            long elapsed = Math.max(0, now - lastUpdated.toEpochSecond(offset));
+            return new PetState(
+                    Math.max(happiness - happinessCurve.deltaAt(elapsed), MIN_HAPPINESS),
+                    Math.min(boredom + boredomCurve.deltaAt(elapsed), MAX_BOREDOM));
+        }
+
+        public PetState evaluate(Pet pet) {
+            return evaluate(pet.getHappiness(), pet.getBoredom(), pet.getLastUpdated());
+        }
+    }
+}
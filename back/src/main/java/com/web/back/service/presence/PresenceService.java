@@ -0,0 +1,76 @@
+package com.web.back.service.presence;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.web.back.service.room.RoomService;
+import com.web.back.service.sse.SseClusterBroker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * 여러 유저의 접속 상태 / 방 상태를 한 번에 조회하는 서비스
+ * 대상마다 EXISTS(접속), GET(재생 중인 음악), SCARD(방 인원)를 파이프라인 한 번으로 보냅니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PresenceService {
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public record PresenceStatus(boolean online, boolean musicPlaying, boolean roomFull) {
+        public static final PresenceStatus OFFLINE = new PresenceStatus(false, false, false);
+    }
+
+    public Map<String, PresenceStatus> getStatuses(Collection<String> emails) {
+        if (emails.isEmpty()) return Map.of();
+
+        List<String> targets = new ArrayList<>(new LinkedHashSet<>(emails));
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (String email : targets) {
+                    ops.hasKey(SseClusterBroker.STATUS_PREFIX + email);
+                    ops.opsForValue().get(RoomService.MUSIC_PREFIX + email);
+                    ops.opsForSet().size(RoomService.ROOM_PREFIX + email);
+                }
+                return null;
+            }
+        });
+
+        Map<String, PresenceStatus> statuses = new HashMap<>(targets.size() * 2);
+        for (int i = 0; i < targets.size(); i++) {
+            boolean online = Boolean.TRUE.equals(results.get(i * 3));
+            if (!online) {
+                statuses.put(targets.get(i), PresenceStatus.OFFLINE);
+                continue;
+            }
+            boolean musicPlaying = hasVideo((String) results.get(i * 3 + 1));
+            Long memberCount = (Long) results.get(i * 3 + 2);
+            boolean roomFull = memberCount != null && memberCount >= RoomService.MAX_PARTICIPANTS;
+            statuses.put(targets.get(i), new PresenceStatus(true, musicPlaying, roomFull));
+        }
+        return statuses;
+    }
+
+    // 헬퍼 메서드
+    private boolean hasVideo(String musicJson) {
+        if (musicJson == null) return false;
+        try {
+            JsonNode videoId = objectMapper.readTree(musicJson).get("videoId");
+            return videoId != null && !videoId.isNull();
+        } catch (Exception e) {
+            log.error("음악 정보 파싱 실패", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.web.back.service.rank;
+
+import com.web.back.enums.RankWindow;
+import com.web.back.repository.UserRepository;
+import com.web.back.repository.projection.UserRankView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.DefaultStringTuple;
+import org.springframework.data.redis.connection.RedisZSetCommands.ZAddArgs;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.util.*;
+
+/**
+ * Redis Sorted Set(ZSET) 기반 집중 시간 리더보드
+ * - member: 유저 ID, score: 집중 시간(초)
+ * - 세션 종료 시 ZINCRBY 로 증분 반영하고, 조회는 ZREVRANGE / ZCOUNT 로 O(log n) 에 처리합니다.
+ * - 누적(ALL) 랭킹의 하한은 DB(users.total_focus_sec)이며, 기동 시와 주기적으로 DB 값보다 뒤처진 점수를 끌어올립니다.
+ * - 기간별(일/주/월) 랭킹은 KST 기준 기간마다 별도 ZSET 을 두고, 기간이 끝나면 EXPIREAT 으로 자동 삭제됩니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardService {
+    private static final String TOTAL_KEY = "rank:total";
+    private static final int RECONCILE_PAGE_SIZE = 1000;
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserRepository userRepository;
+
+    public record RankEntry(UUID userId, long score) {}
+
+    /**
+     * 끝난 세션을 누적 및 기간별 리더보드에 더합니다.
+     * 자정을 넘긴 세션은 날짜별로 나누어 각 기간에 반영하며, 모든 갱신은 한 번의 파이프라인으로 전송합니다.
+     * 트랜잭션 안에서 호출되면 커밋이 끝난 뒤에 반영하여 롤백된 세션이 점수에 남지 않도록 합니다.
+     */
+    public void addFocusSession(UUID userId, LocalDateTime startAt, LocalDateTime endAt) {
+        long totalSeconds = Math.max(0, Duration.between(startAt, endAt).getSeconds());
+        if (totalSeconds <= 0) return;
+
+        Map<String, Long> increments = new LinkedHashMap<>();
+        Map<String, Instant> expireAts = new HashMap<>();
+        increments.put(TOTAL_KEY, totalSeconds);
+
+        LocalDateTime cursor = startAt;
+        while (cursor.isBefore(endAt)) {
+            LocalDate day = cursor.toLocalDate();
+            LocalDateTime nextMidnight = day.plusDays(1).atStartOfDay();
+            LocalDateTime segmentEnd = endAt.isBefore(nextMidnight) ? endAt : nextMidnight;
+            long seconds = Duration.between(cursor, segmentEnd).getSeconds();
+
+            if (seconds > 0) {
+                for (RankWindow window : List.of(RankWindow.DAILY, RankWindow.WEEKLY, RankWindow.MONTHLY)) {
+                    String key = windowKey(window, day);
+                    increments.merge(key, seconds, Long::sum);
+                    expireAts.putIfAbsent(key, expireAt(window, day));
+                }
+            }
+            cursor = segmentEnd;
+        }
+
+        String member = userId.toString();
+        Runnable apply = () -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                increments.forEach((key, seconds) -> {
+                    ops.opsForZSet().incrementScore(key, member, seconds);
+                    Instant expireAt = expireAts.get(key);
+                    if (expireAt != null) {
+                        ops.expireAt(key, expireAt);
+                    }
+                });
+                return null;
+            }
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    public List<RankEntry> top(RankWindow window, int count) {
+        Set<ZSetOperations.TypedTuple<String>> tuples =
+                redisTemplate.opsForZSet().reverseRangeWithScores(currentKey(window), 0, count - 1);
+        if (tuples == null) return List.of();
+
+        List<RankEntry> entries = new ArrayList<>(tuples.size());
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            double score = tuple.getScore() != null ? tuple.getScore() : 0;
+            entries.add(new RankEntry(UUID.fromString(tuple.getValue()), (long) score));
+        }
+        return entries;
+    }
+
+    /**
+     * ZSET 에 기록된 점수를 반환합니다. 아직 집계되지 않은 유저라면 fallback 값을 사용합니다.
+     */
+    public long scoreOf(RankWindow window, UUID userId, long fallback) {
+        Double score = redisTemplate.opsForZSet().score(currentKey(window), userId.toString());
+        return score != null ? score.longValue() : fallback;
+    }
+
+    /**
+     * 나보다 점수가 높은 인원 + 1 을 순위로 사용합니다. (동점자는 같은 순위)
+     * 점수가 초 단위 정수이므로 "score 초과" 는 ZCOUNT [score + 1, +inf] 로 계산합니다.
+     */
+    public int rankOf(RankWindow window, long score) {
+        Long higher = redisTemplate.opsForZSet().count(currentKey(window), score + 1, Double.POSITIVE_INFINITY);
+        return (higher != null ? higher.intValue() : 0) + 1;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    /**
+     * users.total_focus_sec 를 기준으로 누적 리더보드를 바로잡습니다.
+     * 세션 종료 시 ZSET 은 바로 ZINCRBY 되고 DB 는 쓰기 지연 큐(FocusWriteBehind)를 거쳐 나중에 반영되므로,
+     * DB 값은 ZSET 점수의 하한입니다. 그래서 페이지마다 ZADD GT 로 DB 값보다 낮거나 없는 멤버만 끌어올립니다.
+     * (임시 키를 RENAME 으로 덮어쓰면 재구성 중에 들어온 증분과 아직 큐에 남은 세션이 사라짐)
+     * 기간별 랭킹은 짧게 유지되고 만료되므로 재구성 대상이 아닙니다.
+     */
+    @Scheduled(cron = "${leaderboard.reconcile.cron:0 */30 * * * *}")
+    public void reconcile() {
+        try {
+            UUID lastId = new UUID(0L, 0L);
+            long total = 0;
+            long raised = 0;
+            while (true) {
+                List<UserRankView> page = userRepository.findByIdGreaterThanOrderByIdAsc(
+                        lastId, Limit.of(RECONCILE_PAGE_SIZE), UserRankView.class);
+                if (page.isEmpty()) break;
+
+                Set<StringRedisConnection.StringTuple> tuples = new HashSet<>(page.size() * 2);
+                for (UserRankView view : page) {
+                    long score = view.getTotalFocusSec() != null ? view.getTotalFocusSec() : 0L;
+                    tuples.add(new DefaultStringTuple(view.getId().toString(), (double) score));
+                }
+                Long changed = redisTemplate.execute((RedisCallback<Long>) connection ->
+                        ((StringRedisConnection) connection).zAdd(TOTAL_KEY, tuples, ZAddArgs.empty().gt().ch()));
+                raised += changed != null ? changed : 0;
+
+                total += page.size();
+                lastId = page.get(page.size() - 1).getId();
+                if (page.size() < RECONCILE_PAGE_SIZE) break;
+            }
+            log.info("리더보드 재구성 완료 (유저 수: {}, 보정된 유저 수: {})", total, raised);
+        } catch (Exception e) {
+            log.error("리더보드 재구성 실패", e);
+        }
+    }
+
+    // 헬퍼 메서드
+    private String currentKey(RankWindow window) {
+        return window == RankWindow.ALL ? TOTAL_KEY : windowKey(window, LocalDate.now(KST));
+    }
+
+    private String windowKey(RankWindow window, LocalDate day) {
+        return switch (window) {
+            case ALL -> TOTAL_KEY;
+            case DAILY -> "rank:daily:" + day;
+            case WEEKLY -> String.format("rank:weekly:%d-W%02d",
+                    day.get(IsoFields.WEEK_BASED_YEAR), day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTHLY -> "rank:monthly:" + day.format(MONTH_FORMAT);
+        };
+    }
+
+    /**
+     * 기간이 끝난 뒤에도 해당 기간 길이만큼은 남겨두었다가 삭제합니다.
+     */
+    private Instant expireAt(RankWindow window, LocalDate day) {
+        LocalDate windowEnd = switch (window) {
+            case DAILY -> day.plusDays(1);
+            case WEEKLY -> day.with(DayOfWeek.MONDAY).plusWeeks(1);
+            case MONTHLY -> day.withDayOfMonth(1).plusMonths(1);
+            case ALL -> throw new IllegalArgumentException("누적 랭킹은 만료되지 않습니다.");
+        };
+        LocalDate deleteAt = switch (window) {
+            case DAILY -> windowEnd.plusDays(1);
+            case WEEKLY -> windowEnd.plusWeeks(1);
+            default -> windowEnd.plusMonths(1);
+        };
+        return deleteAt.atStartOfDay(KST).toInstant();
+    }
+}
@@ -0,0 +1,23 @@
+package com.web.back.service.retention;
+
+import java.util.List;
+
+/**
+ * RetentionRunner 가 실행하는 삭제 작업 하나
+ * 기본 키 오름차순으로 afterId 다음부터 삭제 대상을 골라 주면, 러너가 묶음 크기 / 쉬는 시간 / 체크포인트를 관리합니다.
+ */
+public interface RetentionJob {
+
+    // 체크포인트 키와 메트릭 태그에 쓰이는 이름
+    String name();
+
+    /**
+     * afterId 보다 큰 삭제 대상 기본 키를 오름차순으로 최대 limit 개 반환합니다.
+     */
+    List<Long> findExpiredIds(long afterId, int limit);
+
+    /**
+     * 주어진 기본 키의 행(과 자식 행)을 한 트랜잭션으로 삭제하고, 지운 행 수를 반환합니다.
+     */
+    int deleteByIds(List<Long> ids);
+}
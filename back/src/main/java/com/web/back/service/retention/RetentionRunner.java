@@ -0,0 +1,135 @@
+package com.web.back.service.retention;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대량 삭제를 작은 묶음으로 나누어 천천히 수행하는 실행기
+ * - 기본 키 순으로 batch-size 개씩 지우고, 묶음 사이에 pause-ms 만큼 쉬어 복제 지연과 잠금 경합을 줄입니다.
+ * - 묶음이 끝날 때마다 마지막 기본 키를 Redis(retention:checkpoint:{job})에 기록하므로,
+ *   도중에 죽더라도 다음 실행은 그 다음부터 이어서 진행합니다. 끝까지 마치면 체크포인트를 지웁니다.
+ * - 여러 노드가 같은 작업을 동시에 돌리지 않도록 Redis 잠금을 잡습니다.
+ * - 진행 상황은 retention.rows.deleted / retention.batches / retention.checkpoint / retention.running{job} 으로 노출합니다.
+ */
+@Component
+@Slf4j
+public class RetentionRunner {
+    private static final String CHECKPOINT_PREFIX = "retention:checkpoint:";
+    private static final String LOCK_PREFIX = "retention:lock:";
+
+    private static final RedisScript<Long> RELEASE_IF_OWNER = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final Duration lockTtl;
+    private final Map<String, Progress> progressByJob = new ConcurrentHashMap<>();
+
+    private record Progress(Counter rows, Counter batches, AtomicLong checkpoint, AtomicLong running) {}
+
+    public RetentionRunner(
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${retention.batch-size:1000}") int batchSize,
+            @Value("${retention.pause-ms:200}") long pauseMillis,
+            @Value("${retention.lock-ttl-seconds:3600}") long lockTtlSeconds
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.lockTtl = Duration.ofSeconds(lockTtlSeconds);
+    }
+
+    /**
+     * 작업을 끝까지(또는 중단될 때까지) 실행하고 지운 행 수를 반환합니다.
+     * 다른 노드가 실행 중이면 바로 0 을 반환합니다.
+     */
+    public long run(RetentionJob job) {
+        String lockKey = LOCK_PREFIX + job.name();
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, token, lockTtl))) {
+            log.info("[Retention] {} 는 다른 노드에서 실행 중입니다.", job.name());
+            return 0;
+        }
+
+        Progress progress = progressOf(job.name());
+        progress.running().set(1);
+        long deleted = 0;
+        try {
+            long afterId = loadCheckpoint(job.name());
+            if (afterId > 0) log.info("[Retention] {} 를 체크포인트({}) 이후부터 이어서 진행합니다.", job.name(), afterId);
+
+            while (true) {
+                List<Long> ids = job.findExpiredIds(afterId, batchSize);
+                if (ids.isEmpty()) break;
+
+                int rows = job.deleteByIds(ids);
+                deleted += rows;
+                afterId = ids.get(ids.size() - 1);
+                saveCheckpoint(job.name(), afterId);
+                progress.rows().increment(rows);
+                progress.batches().increment();
+                progress.checkpoint().set(afterId);
+
+                if (ids.size() < batchSize || !pause()) break;
+            }
+            // 중단 없이 끝까지 훑었으면 다음 실행은 처음부터
+            if (!Thread.currentThread().isInterrupted()) redisTemplate.delete(CHECKPOINT_PREFIX + job.name());
+            log.info("[Retention] {} 완료: {}행 삭제", job.name(), deleted);
+            return deleted;
+        } finally {
+            progress.running().set(0);
+            redisTemplate.execute(RELEASE_IF_OWNER, List.of(lockKey), token);
+        }
+    }
+
+    // 헬퍼 메서드
+    private boolean pause() {
+        if (pauseMillis <= 0) return true;
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private long loadCheckpoint(String jobName) {
+        String value = redisTemplate.opsForValue().get(CHECKPOINT_PREFIX + jobName);
+        return value != null ? Long.parseLong(value) : 0;
+    }
+
+    private void saveCheckpoint(String jobName, long afterId) {
+        redisTemplate.opsForValue().set(CHECKPOINT_PREFIX + jobName, Long.toString(afterId));
+    }
+
+    private Progress progressOf(String jobName) {
+        return progressByJob.computeIfAbsent(jobName, name -> {
+            Tags tags = Tags.of("job", name);
+            return new Progress(
+                    meterRegistry.counter("retention.rows.deleted", tags),
+                    meterRegistry.counter("retention.batches", tags),
+                    meterRegistry.gauge("retention.checkpoint", tags, new AtomicLong()),
+                    meterRegistry.gauge("retention.running", tags, new AtomicLong()));
+        });
+    }
+}
@@ -5,8 +5,11 @@ import com.web.back.dto.share.MusicDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -19,46 +22,71 @@ public class RoomService {
 
     public static final int MAX_PARTICIPANTS = 10;
 
-    public boolean joinRoom(String ownerEmail, String guestEmail) {
-        String roomKey = "room:" + ownerEmail;
-        String locationKey = "user:location:" + guestEmail;
+    public static final String ROOM_PREFIX = "room:";
+    public static final String MUSIC_PREFIX = "room:music:";
+    private static final String LOCATION_PREFIX = "user:location:";
+    private static final long ROOM_FULL = -1L;
 
-        // 이미 이 방에 있는지 확인 (중복 입장 방지)
-        Boolean isAlreadyIn = redisTemplate.opsForSet().isMember(roomKey, guestEmail);
-        if (Boolean.TRUE.equals(isAlreadyIn)) {
-            log.info("이미 방에 참여 중입니다: {}", guestEmail);
-            return true;
-        }
+    // 이전 방 키는 위치 정보를 읽은 뒤에야 알 수 있어 스크립트 안에서 만듦 (단일 Redis 기준, Cluster 에서는 hash tag 필요)
+    // KEYS: 방, 게스트 위치 / ARGV: 게스트, 방장, 정원, 방 키 prefix
+    // 반환: 입장 후 인원 수 (이미 참여 중이면 현재 인원 수), 정원 초과면 -1
+    private static final RedisScript<Long> JOIN_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('sismember', KEYS[1], ARGV[1]) == 1 then
+                return redis.call('scard', KEYS[1])
+            end
+            local count = redis.call('scard', KEYS[1])
+            if count >= tonumber(ARGV[3]) then
+                return -1
+            end
+            local previous = redis.call('get', KEYS[2])
+            if previous and previous ~= ARGV[2] then
+                redis.call('srem', ARGV[4] .. previous, ARGV[1])
+            end
+            redis.call('sadd', KEYS[1], ARGV[1])
+            redis.call('set', KEYS[2], ARGV[2])
+            return count + 1
+            """, Long.class);
 
-        // 인원수 체크
-        Long currentCount = redisTemplate.opsForSet().size(roomKey);
-        if (currentCount != null && currentCount >= MAX_PARTICIPANTS) {
+    // KEYS: 게스트 위치 / ARGV: 게스트, 방 키 prefix
+    // 반환: 퇴장한 방의 방장 이메일 (참여 중인 방이 없으면 nil)
+    private static final RedisScript<String> LEAVE_SCRIPT = new DefaultRedisScript<>("""
+            local owner = redis.call('get', KEYS[1])
+            if not owner then
+                return false
+            end
+            redis.call('srem', ARGV[2] .. owner, ARGV[1])
+            redis.call('del', KEYS[1])
+            return owner
+            """, String.class);
+
+    /**
+     * 중복 확인, 인원 확인, 이전 방 퇴장, 입장 및 위치 기록을 하나의 Lua 스크립트로 원자적으로 처리합니다.
+     * (동시에 들어온 입장 요청이 모두 인원 확인을 통과해 정원을 넘기는 문제를 막고, 왕복도 1회로 줄임)
+     */
+    public boolean joinRoom(String ownerEmail, String guestEmail) {
+        Long result = redisTemplate.execute(JOIN_SCRIPT,
+                List.of(ROOM_PREFIX + ownerEmail, LOCATION_PREFIX + guestEmail),
+                guestEmail, ownerEmail, String.valueOf(MAX_PARTICIPANTS), ROOM_PREFIX);
+
+        if (result == null || result == ROOM_FULL) {
             log.warn("방 인원 초과: {}", ownerEmail);
             return false;
         }
-
-        // 방에 참여자 추가 및 위치정보 기록
-        redisTemplate.opsForSet().add(roomKey, guestEmail);
-        redisTemplate.opsForValue().set(locationKey, ownerEmail);
-
-        log.info("유저 [{}] 가 [{}] 의 방에 입장했습니다. (현재 인원: {})",
-                guestEmail, ownerEmail, (currentCount != null ? currentCount + 1 : 1));
+        log.info("유저 [{}] 가 [{}] 의 방에 입장했습니다. (현재 인원: {})", guestEmail, ownerEmail, result);
         return true;
     }
 
     public void leaveRoom(String guestEmail) {
-        String locationKey = "user:location:" + guestEmail;
-        String ownerEmail = redisTemplate.opsForValue().get(locationKey);
+        String ownerEmail = redisTemplate.execute(LEAVE_SCRIPT,
+                List.of(LOCATION_PREFIX + guestEmail), guestEmail, ROOM_PREFIX);
 
         if (ownerEmail != null) {
-            redisTemplate.opsForSet().remove("room:" + ownerEmail, guestEmail);
-            redisTemplate.delete(locationKey);
             log.info("유저 [{}] 가 [{}] 의 방에서 퇴장했습니다.", guestEmail, ownerEmail);
         }
     }
 
     public void updateCurrentMusic(String ownerEmail, MusicDto musicDto) {
-        String key = "room:music:" + ownerEmail;
+        String key = MUSIC_PREFIX + ownerEmail;
         try {
             String json = objectMapper.writeValueAsString(musicDto);
             redisTemplate.opsForValue().set(key, json, 5, TimeUnit.SECONDS);
@@ -68,7 +96,7 @@ public class RoomService {
     }
 
     public MusicDto getRoomCurrentMusic(String ownerEmail) {
-        String key = "room:music:" + ownerEmail;
+        String key = MUSIC_PREFIX + ownerEmail;
         String json = redisTemplate.opsForValue().get(key);
 
         if (json != null) {
@@ -82,6 +110,6 @@ public class RoomService {
     }
 
     public Set<String> getParticipants(String ownerEmail) {
-        return redisTemplate.opsForSet().members("room:" + ownerEmail);
+        return redisTemplate.opsForSet().members(ROOM_PREFIX + ownerEmail);
     }
 }
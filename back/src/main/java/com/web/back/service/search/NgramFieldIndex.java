@@ -0,0 +1,167 @@
+package com.web.back.service.search;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 문자열 필드 하나(닉네임, 이메일 등)에 대한 메모리 검색 인덱스
+ * - 정규화: NFKC + 소문자. 한글은 코드 포인트(음절) 단위로 다루므로 서로게이트 쌍이 잘리지 않습니다.
+ * - 정렬 키(정규화 값 + \0 + ID) 순서의 SkipList 로 완전 일치 / 접두어 검색을 범위 조회로 처리합니다.
+ * - 1글자 / 2글자 n-gram 역색인으로 부분 문자열 후보를 좁히고, 가장 작은 posting 만 정렬 키 순서로 훑습니다.
+ * - 모든 검색은 limit 개를 채우는 즉시 멈춥니다.
+ * 쓰기는 synchronized 로 직렬화하고, 읽기는 잠금 없이 동시 자료구조를 그대로 읽습니다.
+ */
+public class NgramFieldIndex {
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    public enum MatchTier { EXACT, PREFIX, SUBSTRING }
+
+    public record Match(UUID id, MatchTier tier, String sortKey) {
+        public Position position() {
+            return new Position(tier, sortKey);
+        }
+    }
+
+    // 검색 결과 안에서의 위치 (다음 페이지의 시작점)
+    public record Position(MatchTier tier, String sortKey) {}
+
+    private record Entry(UUID id, String normalized, String sortKey) {}
+
+    private final Map<UUID, Entry> entriesById = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Entry> entriesBySortKey = new ConcurrentSkipListMap<>();
+    private final Map<String, ConcurrentSkipListSet<String>> postings = new ConcurrentHashMap<>();
+
+    public static String normalize(String value) {
+        if (value == null) return "";
+        return Normalizer.normalize(value.trim(), Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    public int size() {
+        return entriesById.size();
+    }
+
+    public synchronized void put(UUID id, String value) {
+        remove(id);
+        String normalized = normalize(value);
+        if (normalized.isEmpty()) return;
+
+        Entry entry = new Entry(id, normalized, normalized + KEY_SEPARATOR + id);
+        entriesById.put(id, entry);
+        entriesBySortKey.put(entry.sortKey(), entry);
+        for (String gram : grams(normalized)) {
+            postings.computeIfAbsent(gram, key -> new ConcurrentSkipListSet<>()).add(entry.sortKey());
+        }
+    }
+
+    public synchronized void remove(UUID id) {
+        Entry entry = entriesById.remove(id);
+        if (entry == null) return;
+
+        entriesBySortKey.remove(entry.sortKey());
+        for (String gram : grams(entry.normalized())) {
+            Set<String> posting = postings.get(gram);
+            if (posting == null) continue;
+            posting.remove(entry.sortKey());
+            if (posting.isEmpty()) postings.remove(gram);
+        }
+    }
+
+    /**
+     * 완전 일치 → 접두어 → 부분 문자열 순으로, 각 단계 안에서는 정렬 키 순으로 최대 limit 개를 반환합니다.
+     */
+    public List<Match> search(String query, int limit, UUID excludeId) {
+        return search(query, limit, excludeId, null);
+    }
+
+    /**
+     * after 가 주어지면 그 위치 바로 다음부터 이어서 반환합니다. (키셋 페이지네이션)
+     * 위치는 (단계, 정렬 키) 이므로 그 사이에 다른 항목이 추가 / 삭제되어도 중복이나 누락 없이 이어집니다.
+     */
+    public List<Match> search(String query, int limit, UUID excludeId, Position after) {
+        String normalized = normalize(query);
+        List<Match> matches = new ArrayList<>(Math.min(limit, 64));
+        if (normalized.isEmpty() || limit <= 0) return matches;
+
+        // 완전 일치: [q\0, q\1)
+        if (after == null || after.tier() == MatchTier.EXACT) {
+            String from = after == null ? normalized + KEY_SEPARATOR : after.sortKey();
+            collect(entriesBySortKey.subMap(from, after == null, normalized + '\u0001', false).values(),
+                    MatchTier.EXACT, excludeId, limit, matches);
+            if (matches.size() >= limit) return matches;
+        }
+
+        // 접두어: [q, q\uffff) 중 완전 일치 제외
+        if (after == null || after.tier() != MatchTier.SUBSTRING) {
+            boolean resume = after != null && after.tier() == MatchTier.PREFIX;
+            String from = resume ? after.sortKey() : normalized;
+            for (Entry entry : entriesBySortKey.subMap(from, !resume, normalized + '\uffff', false).values()) {
+                if (matches.size() >= limit) return matches;
+                if (entry.normalized().equals(normalized) || entry.id().equals(excludeId)) continue;
+                matches.add(new Match(entry.id(), MatchTier.PREFIX, entry.sortKey()));
+            }
+        }
+
+        // 부분 문자열: 가장 작은 posting 을 훑으며 실제 포함 여부를 확인
+        NavigableSet<String> candidates = smallestPosting(normalized);
+        if (after != null && after.tier() == MatchTier.SUBSTRING) {
+            candidates = candidates.tailSet(after.sortKey(), false);
+        }
+        for (String sortKey : candidates) {
+            if (matches.size() >= limit) return matches;
+            Entry entry = entriesBySortKey.get(sortKey);
+            if (entry == null || entry.id().equals(excludeId)) continue;
+            if (entry.normalized().startsWith(normalized) || !entry.normalized().contains(normalized)) continue;
+            matches.add(new Match(entry.id(), MatchTier.SUBSTRING, entry.sortKey()));
+        }
+        return matches;
+    }
+
+    // 헬퍼 메서드
+    private void collect(Collection<Entry> entries, MatchTier tier, UUID excludeId, int limit, List<Match> matches) {
+        for (Entry entry : entries) {
+            if (matches.size() >= limit) return;
+            if (entry.id().equals(excludeId)) continue;
+            matches.add(new Match(entry.id(), tier, entry.sortKey()));
+        }
+    }
+
+    private NavigableSet<String> smallestPosting(String normalized) {
+        NavigableSet<String> smallest = null;
+        for (String gram : queryGrams(normalized)) {
+            NavigableSet<String> posting = postings.get(gram);
+            if (posting == null) return Collections.emptyNavigableSet(); // 없는 n-gram 이 하나라도 있으면 결과 없음
+            if (smallest == null || posting.size() < smallest.size()) smallest = posting;
+        }
+        return smallest != null ? smallest : Collections.emptyNavigableSet();
+    }
+
+    /**
+     * 색인용 n-gram: 모든 1글자와 2글자 조각
+     */
+    private static Set<String> grams(String normalized) {
+        int[] codePoints = normalized.codePoints().toArray();
+        Set<String> grams = new HashSet<>(codePoints.length * 2);
+        for (int i = 0; i < codePoints.length; i++) {
+            grams.add(new String(codePoints, i, 1));
+            if (i + 1 < codePoints.length) grams.add(new String(codePoints, i, 2));
+        }
+        return grams;
+    }
+
+    /**
+     * 검색용 n-gram: 1글자 질의는 1-gram, 그 외에는 2-gram 만 사용
+     */
+    private static Set<String> queryGrams(String normalized) {
+        int[] codePoints = normalized.codePoints().toArray();
+        if (codePoints.length == 1) return Set.of(normalized);
+
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            grams.add(new String(codePoints, i, 2));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,189 @@
+package com.web.back.service.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.web.back.dto.user.UserTypeaheadResponseDto;
+import com.web.back.event.UserProfileChangedEvent;
+import com.web.back.service.friend.FriendService;
+import com.web.back.service.presence.PresenceService;
+import com.web.back.service.presence.PresenceService.PresenceStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 입력할 때마다 호출되는 타입어헤드 검색
+ * - 정규화된 검색어(접두어)별 후보 목록을 크기 제한 + TTL 이 있는 Caffeine 캐시에 보관합니다.
+ * - 캐시에 없더라도 더 짧은 검색어의 결과가 "전부" 캐시되어 있다면, 그 결과를 걸러서 씁니다.
+ *   (q 를 포함하는 값은 q 의 앞부분도 반드시 포함하므로 부모 결과가 완전하면 자식 결과도 완전합니다.)
+ * - 캐시는 유저 공통이므로 본인 / 차단 관계는 꺼낸 뒤에 거릅니다.
+ *   차단 목록은 유저별로 짧게 캐시하므로 차단 직후 최대 block-ttl 동안은 타입어헤드에 보일 수 있습니다.
+ * - 히트율은 user.typeahead.lookups(source=cache|parent|index) 와 user.typeahead.hit.ratio 로 노출합니다.
+ */
+@Service
+public class TypeaheadService {
+    // 접두어별로 보관하는 최대 후보 수 (이보다 적으면 해당 접두어의 전체 결과)
+    private static final int CANDIDATE_LIMIT = 50;
+    private static final int MAX_LIMIT = 20;
+
+    private final UserSearchIndex userSearchIndex;
+    private final FriendService friendService;
+    private final PresenceService presenceService;
+
+    private final Cache<String, CachedPrefix> prefixCache;
+    private final Cache<UUID, Set<UUID>> blockedCache;
+
+    private final Counter cacheHits;
+    private final Counter parentHits;
+    private final Counter indexLookups;
+
+    private record Candidate(UUID id, String normalized) {}
+
+    private record CachedPrefix(List<Candidate> candidates, boolean complete) {}
+
+    public TypeaheadService(
+            UserSearchIndex userSearchIndex,
+            FriendService friendService,
+            PresenceService presenceService,
+            MeterRegistry meterRegistry,
+            @Value("${user-search.typeahead.max-prefixes:10000}") long maxPrefixes,
+            @Value("${user-search.typeahead.ttl-seconds:60}") long ttlSeconds,
+            @Value("${user-search.typeahead.block-ttl-seconds:30}") long blockTtlSeconds
+    ) {
+        this.userSearchIndex = userSearchIndex;
+        this.friendService = friendService;
+        this.presenceService = presenceService;
+        this.prefixCache = Caffeine.newBuilder()
+                .maximumSize(maxPrefixes)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.blockedCache = Caffeine.newBuilder()
+                .maximumSize(maxPrefixes)
+                .expireAfterWrite(Duration.ofSeconds(blockTtlSeconds))
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, prefixCache, "user.typeahead");
+        this.cacheHits = lookupCounter(meterRegistry, "cache");
+        this.parentHits = lookupCounter(meterRegistry, "parent");
+        this.indexLookups = lookupCounter(meterRegistry, "index");
+        Gauge.builder("user.typeahead.hit.ratio", this, TypeaheadService::hitRatio)
+                .description("인덱스 조회 없이 캐시(접두어 또는 부모 접두어)로 응답한 비율")
+                .register(meterRegistry);
+    }
+
+    public List<UserTypeaheadResponseDto> suggest(String query, int limit, UUID userId) {
+        String normalized = NgramFieldIndex.normalize(query);
+        if (normalized.isEmpty() || normalized.equals("@")) return List.of();
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        Set<UUID> blocked = blockedCache.get(userId, friendService::getBlockedEitherWay);
+        List<UserSearchIndex.Profile> profiles = new ArrayList<>(size);
+        for (Candidate candidate : lookup(normalized).candidates()) {
+            if (profiles.size() >= size) break;
+            if (candidate.id().equals(userId) || blocked.contains(candidate.id())) continue;
+            UserSearchIndex.Profile profile = userSearchIndex.profile(candidate.id());
+            if (profile != null) profiles.add(profile);
+        }
+
+        Map<String, PresenceStatus> statuses = presenceService.getStatuses(
+                profiles.stream().map(UserSearchIndex.Profile::email).toList());
+        return profiles.stream()
+                .map(profile -> new UserTypeaheadResponseDto(
+                        profile.nickname(),
+                        profile.email(),
+                        statuses.getOrDefault(profile.email(), PresenceStatus.OFFLINE).online()))
+                .toList();
+    }
+
+    /**
+     * 닉네임 / 이메일이 바뀌면 이전 값과 새 값의 일부분이 되는 검색어 캐시를 모두 지웁니다.
+     */
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        String previousNickname = NgramFieldIndex.normalize(event.previousNickname());
+        String nickname = NgramFieldIndex.normalize(event.nickname());
+        String email = NgramFieldIndex.normalize(event.email());
+        boolean created = event.previousNickname() == null;
+
+        prefixCache.asMap().keySet().removeIf(key -> key.contains("@")
+                ? created && email.contains(key)
+                : nickname.contains(key) || (!previousNickname.isEmpty() && previousNickname.contains(key)));
+    }
+
+    // 헬퍼 메서드
+    private CachedPrefix lookup(String normalized) {
+        CachedPrefix cached = prefixCache.getIfPresent(normalized);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+
+        CachedPrefix refined = refineFromParent(normalized);
+        if (refined != null) {
+            parentHits.increment();
+            prefixCache.put(normalized, refined);
+            return refined;
+        }
+
+        indexLookups.increment();
+        List<Candidate> candidates = userSearchIndex.search(normalized, CANDIDATE_LIMIT, null).stream()
+                .map(match -> new Candidate(match.id(), match.sortKey().substring(0, match.sortKey().indexOf('\u0000'))))
+                .toList();
+        CachedPrefix loaded = new CachedPrefix(candidates, candidates.size() < CANDIDATE_LIMIT);
+        prefixCache.put(normalized, loaded);
+        return loaded;
+    }
+
+    /**
+     * 가장 긴 부모 접두어부터 찾아, 결과가 완전한 항목이 있으면 그 안에서 다시 걸러 순위를 매깁니다.
+     */
+    private CachedPrefix refineFromParent(String normalized) {
+        boolean emailQuery = normalized.contains("@");
+        for (int end = normalized.offsetByCodePoints(normalized.length(), -1); end > 0;
+             end = normalized.offsetByCodePoints(end, -1)) {
+            String parent = normalized.substring(0, end);
+            if (parent.contains("@") != emailQuery) break; // 다른 필드(닉네임 / 이메일)의 결과는 쓸 수 없음
+
+            CachedPrefix cached = prefixCache.getIfPresent(parent);
+            if (cached == null || !cached.complete()) continue;
+
+            List<Candidate> candidates = cached.candidates().stream()
+                    .filter(candidate -> candidate.normalized().contains(normalized))
+                    .sorted(Comparator.comparingInt((Candidate candidate) -> tierOf(candidate, normalized))
+                            .thenComparing(Candidate::normalized)
+                            .thenComparing(candidate -> candidate.id().toString()))
+                    .toList();
+            return new CachedPrefix(candidates, true);
+        }
+        return null;
+    }
+
+    // NgramFieldIndex 와 같은 순서: 완전 일치 → 접두어 → 부분 문자열
+    private int tierOf(Candidate candidate, String normalized) {
+        if (candidate.normalized().equals(normalized)) return 0;
+        if (candidate.normalized().startsWith(normalized)) return 1;
+        return 2;
+    }
+
+    private double hitRatio() {
+        double hits = cacheHits.count() + parentHits.count();
+        double total = hits + indexLookups.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("user.typeahead.lookups")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,117 @@
+package com.web.back.service.search;
+
+import com.web.back.event.UserProfileChangedEvent;
+import com.web.back.repository.UserRepository;
+import com.web.back.repository.projection.UserSearchView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 유저 검색용 메모리 인덱스 (닉네임 / 이메일)
+ * - LIKE '%q%' 전체 스캔 대신 NgramFieldIndex 에서 완전 일치 → 접두어 → 부분 문자열 순으로 limit 개만 꺼냅니다.
+ * - 가입 / 닉네임 변경은 커밋 이후 이벤트로 즉시 반영하고,
+ *   다른 노드에서 일어난 변경은 주기적인 전체 재구성으로 맞춥니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserSearchIndex {
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final UserRepository userRepository;
+
+    // 검색 결과를 DB 조회 없이 표시할 수 있도록 원본 닉네임 / 이메일도 함께 보관
+    public record Profile(String nickname, String email) {}
+
+    private record Snapshot(NgramFieldIndex nicknames, NgramFieldIndex emails, Map<UUID, Profile> profiles) {
+        Snapshot() {
+            this(new NgramFieldIndex(), new NgramFieldIndex(), new ConcurrentHashMap<>());
+        }
+
+        void put(UUID id, String nickname, String email) {
+            nicknames.put(id, nickname);
+            emails.put(id, email);
+            profiles.put(id, new Profile(nickname, email));
+        }
+    }
+
+    private volatile Snapshot current = new Snapshot();
+    // 재구성 중에 들어온 변경이 새 스냅샷에서 빠지지 않도록 함께 반영
+    private volatile Snapshot building;
+
+    /**
+     * '@' 가 들어간 질의는 이메일, 그 외에는 닉네임에서 찾습니다.
+     */
+    public List<NgramFieldIndex.Match> search(String query, int limit, UUID excludeId) {
+        return search(query, limit, excludeId, null);
+    }
+
+    public List<NgramFieldIndex.Match> search(String query, int limit, UUID excludeId, NgramFieldIndex.Position after) {
+        Snapshot snapshot = current;
+        NgramFieldIndex field = query.contains("@") ? snapshot.emails() : snapshot.nicknames();
+        return field.search(query, limit, excludeId, after);
+    }
+
+    public Profile profile(UUID id) {
+        return current.profiles().get(id);
+    }
+
+    public void put(UUID id, String nickname, String email) {
+        current.put(id, nickname, email);
+        Snapshot next = building;
+        if (next != null) next.put(id, nickname, email);
+    }
+
+    @Order(0) // 타입어헤드 캐시 무효화보다 먼저 인덱스에 반영
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        put(event.userId(), event.nickname(), event.email());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * users 테이블을 키셋으로 훑어 새 인덱스를 만든 뒤 한 번에 교체합니다.
+     * 재구성 중에도 검색은 기존 인덱스로 응답합니다.
+     */
+    @Scheduled(cron = "${user-search.rebuild.cron:0 */10 * * * *}")
+    public synchronized void rebuild() {
+        Snapshot next = new Snapshot();
+        building = next;
+        try {
+            UUID lastId = new UUID(0L, 0L);
+            while (true) {
+                List<UserSearchView> page = userRepository.findByIdGreaterThanOrderByIdAsc(
+                        lastId, Limit.of(REBUILD_PAGE_SIZE), UserSearchView.class);
+                if (page.isEmpty()) break;
+
+                for (UserSearchView view : page) {
+                    next.put(view.getId(), view.getNickname(), view.getEmail());
+                }
+                lastId = page.get(page.size() - 1).getId();
+                if (page.size() < REBUILD_PAGE_SIZE) break;
+            }
+            current = next;
+            log.info("유저 검색 인덱스 재구성 완료 (유저 수: {})", next.nicknames().size());
+        } catch (Exception e) {
+            log.error("유저 검색 인덱스 재구성 실패", e);
+        } finally {
+            building = null;
+        }
+    }
+}
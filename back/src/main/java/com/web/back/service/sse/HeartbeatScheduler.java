@@ -0,0 +1,101 @@
+package com.web.back.service.sse;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 타이밍 휠 방식의 SSE heartbeat 스케줄러
+ * - 연결을 이메일 해시로 slot 에 나누고, 전용 스레드가 (주기 / slot 수) 마다 slot 하나씩만 처리합니다.
+ * - 30초마다 전체 연결을 한꺼번에 처리하던 방식과 달리 CPU 와 Redis 부하가 주기 전체에 고르게 퍼집니다.
+ * - 접속 상태 TTL 갱신은 tick 당 Lua 스크립트 호출 한 번(대상이 많으면 묶음 단위)으로 처리합니다.
+ */
+@Component
+@Slf4j
+public class HeartbeatScheduler {
+    private static final int REFRESH_CHUNK_SIZE = 500;
+
+    private final SseDispatchHub dispatchHub;
+    private final SseClusterBroker clusterBroker;
+    private final long tickMillis;
+    private final Set<String>[] slots;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "sse-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private int cursor;
+
+    @SuppressWarnings("unchecked")
+    public HeartbeatScheduler(
+            SseDispatchHub dispatchHub,
+            SseClusterBroker clusterBroker,
+            @Value("${sse.heartbeat.interval-ms:30000}") long intervalMillis,
+            @Value("${sse.heartbeat.slots:30}") int slotCount
+    ) {
+        this.dispatchHub = dispatchHub;
+        this.clusterBroker = clusterBroker;
+        this.slots = new Set[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            this.slots[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.tickMillis = Math.max(1, intervalMillis / slotCount);
+    }
+
+    @PostConstruct
+    public void start() {
+        executor.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public void register(String email) {
+        slotOf(email).add(email);
+    }
+
+    public void unregister(String email) {
+        slotOf(email).remove(email);
+    }
+
+    // 헬퍼 메서드
+    private Set<String> slotOf(String email) {
+        return slots[Math.floorMod(email.hashCode(), slots.length)];
+    }
+
+    private void tick() {
+        Set<String> slot = slots[cursor];
+        cursor = (cursor + 1) % slots.length;
+        if (slot.isEmpty()) return;
+
+        try {
+            List<String> alive = new ArrayList<>(slot.size());
+            for (String email : slot) {
+                if (dispatchHub.enqueue(email, "heartbeat", "ping")) {
+                    alive.add(email);
+                } else {
+                    slot.remove(email);
+                }
+            }
+
+            for (int from = 0; from < alive.size(); from += REFRESH_CHUNK_SIZE) {
+                clusterBroker.refreshOnline(alive.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, alive.size())));
+            }
+        } catch (Exception e) {
+            // 예외가 전파되면 scheduleAtFixedRate 가 중단되므로 여기서 끊음
+            log.warn("Heartbeat tick 처리 실패", e);
+        }
+    }
+}
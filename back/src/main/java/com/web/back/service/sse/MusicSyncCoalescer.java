@@ -0,0 +1,144 @@
+package com.web.back.service.sse;
+
+import com.web.back.dto.share.MusicDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+
+/**
+ * 방별 music-sync 이벤트 병합기 (SseService.broadcastToRoom 앞단)
+ * - 창(window)이 열려 있지 않으면 바로 전달하고 창을 엽니다.
+ * - 창이 열려 있는 동안 들어온 진행 상황은 최신 것 하나만 남겨두었다가 창이 닫힐 때 전달합니다.
+ * - 재생/정지 전환, 곡 변경처럼 병합하면 안 되는 이벤트는 대기 중인 이벤트를 버리고 즉시 전달합니다.
+ */
+@Component
+@Slf4j
+public class MusicSyncCoalescer {
+    public static final String EVENT_NAME = "music-sync";
+    private static final long IDLE_EVICT_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final SseService sseService;
+    private final long windowNanos;
+    private final Map<String, RoomState> rooms = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "music-sync-coalescer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final class RoomState {
+        MusicDto lastReceived;
+        MusicDto pending;
+        ScheduledFuture<?> flush;
+        long windowEnd;
+        long lastActivity;
+    }
+
+    public MusicSyncCoalescer(
+            SseService sseService,
+            @Value("${sse.music-sync.coalesce-window-ms:250}") long windowMs
+    ) {
+        this.sseService = sseService;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        scheduler.scheduleWithFixedDelay(this::evictIdleRooms, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 직전 상태와 비교해 재생/정지 전환이나 곡 변경이면 병합하지 않고 전달합니다.
+     */
+    public void publish(String ownerEmail, MusicDto music) {
+        RoomState state = rooms.computeIfAbsent(ownerEmail, key -> new RoomState());
+        synchronized (state) {
+            publish(ownerEmail, state, music, !isTransition(state.lastReceived, music));
+        }
+    }
+
+    /**
+     * coalescible 이 false 인 이벤트는 병합 창과 관계없이 즉시 전달됩니다.
+     */
+    public void publish(String ownerEmail, MusicDto music, boolean coalescible) {
+        RoomState state = rooms.computeIfAbsent(ownerEmail, key -> new RoomState());
+        synchronized (state) {
+            publish(ownerEmail, state, music, coalescible);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // 헬퍼 메서드
+    private void publish(String ownerEmail, RoomState state, MusicDto music, boolean coalescible) {
+        long now = System.nanoTime();
+        state.lastReceived = music;
+        state.lastActivity = now;
+
+        if (!coalescible || windowNanos <= 0) {
+            // 대기 중인 이벤트는 이번 이벤트로 대체되므로 버림
+            cancelPending(state);
+            deliver(ownerEmail, state, music, now);
+            return;
+        }
+
+        if (state.flush == null && now - state.windowEnd >= 0) {
+            deliver(ownerEmail, state, music, now);
+            return;
+        }
+
+        state.pending = music;
+        if (state.flush == null) {
+            long delay = Math.max(0, state.windowEnd - now);
+            state.flush = scheduler.schedule(() -> flush(ownerEmail, state), delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flush(String ownerEmail, RoomState state) {
+        synchronized (state) {
+            state.flush = null;
+            MusicDto pending = state.pending;
+            if (pending != null) {
+                deliver(ownerEmail, state, pending, System.nanoTime());
+            }
+        }
+    }
+
+    private void deliver(String ownerEmail, RoomState state, MusicDto music, long now) {
+        state.pending = null;
+        state.windowEnd = now + windowNanos;
+        try {
+            sseService.broadcastToRoom(ownerEmail, EVENT_NAME, music);
+        } catch (Exception e) {
+            log.error("music-sync 전달 실패 (방: {})", ownerEmail, e);
+        }
+    }
+
+    private void cancelPending(RoomState state) {
+        state.pending = null;
+        if (state.flush != null) {
+            state.flush.cancel(false);
+            state.flush = null;
+        }
+    }
+
+    private boolean isTransition(MusicDto previous, MusicDto next) {
+        if (previous == null) return true;
+        return previous.isPlaying() != next.isPlaying()
+                || !Objects.equals(previous.getVideoId(), next.getVideoId());
+    }
+
+    private void evictIdleRooms() {
+        long now = System.nanoTime();
+        rooms.entrySet().removeIf(entry -> {
+            RoomState state = entry.getValue();
+            synchronized (state) {
+                return state.flush == null && now - state.lastActivity > IDLE_EVICT_NANOS;
+            }
+        });
+    }
+}
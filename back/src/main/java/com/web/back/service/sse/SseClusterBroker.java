@@ -0,0 +1,141 @@
+package com.web.back.service.sse;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 백엔드 노드 사이에서 SSE 이벤트를 전달하는 브로커
+ * - 접속 상태 키(status:{email})의 값으로 해당 유저가 연결된 노드 ID 를 기록합니다.
+ * - 다른 노드에 연결된 유저에게 보낼 이벤트는 노드별 채널(sse:node:{nodeId})로 묶어서 한 번씩만 발행합니다.
+ * - 각 노드는 자기 채널만 구독하고, 받은 이벤트를 로컬 SseDispatchHub 로 넘깁니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SseClusterBroker implements MessageListener {
+    private static final String CHANNEL_PREFIX = "sse:node:";
+    public static final String STATUS_PREFIX = "status:";
+    public static final long STATUS_TTL_SECONDS = 45;
+
+    // 내 노드가 기록한 상태 키만 지움 (다른 노드로 재접속한 경우 보호)
+    // 1: 내 노드 소유였거나(삭제) 이미 만료되어 아무도 소유하지 않음, 0: 다른 노드 소유
+    private static final RedisScript<Long> DELETE_IF_OWNER = new DefaultRedisScript<>("""
+            local owner = redis.call('get', KEYS[1])
+            if owner == ARGV[1] then
+                redis.call('del', KEYS[1])
+                return 1
+            end
+            if owner then return 0 end
+            return 1
+            """, Long.class);
+
+    // 내 노드가 소유한 상태 키들의 TTL 을 한 번에 갱신
+    private static final RedisScript<Long> REFRESH_IF_OWNER = new DefaultRedisScript<>("""
+            local refreshed = 0
+            for i, key in ipairs(KEYS) do
+                if redis.call('get', key) == ARGV[1] then
+                    redis.call('expire', key, ARGV[2])
+                    refreshed = refreshed + 1
+                end
+            end
+            return refreshed
+            """, Long.class);
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final SseDispatchHub dispatchHub;
+    private final ObjectMapper objectMapper;
+
+    record Envelope(String origin, List<String> targets, String name, JsonNode data) {}
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL_PREFIX + nodeId));
+        log.info("SSE 클러스터 노드 등록: {}", nodeId);
+    }
+
+    public void markOnline(String email) {
+        redisTemplate.opsForValue().set(STATUS_PREFIX + email, nodeId, STATUS_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 상태 키를 지우고, 유저가 다른 노드에 접속해 있지 않은지 반환합니다.
+     * false 면 다른 노드로 재접속한 상태이므로 방 퇴장 / 접속 종료 처리를 하면 안 됩니다.
+     */
+    public boolean markOffline(String email) {
+        Long released = redisTemplate.execute(DELETE_IF_OWNER, List.of(STATUS_PREFIX + email), nodeId);
+        return released != null && released == 1L;
+    }
+
+    public void refreshOnline(List<String> emails) {
+        if (emails.isEmpty()) return;
+        List<String> keys = emails.stream().map(email -> STATUS_PREFIX + email).toList();
+        redisTemplate.execute(REFRESH_IF_OWNER, keys, nodeId, String.valueOf(STATUS_TTL_SECONDS));
+    }
+
+    /**
+     * 이 노드에 연결되어 있지 않은 유저들에게 이벤트를 전달합니다.
+     * 대상 유저들의 노드를 MGET 한 번으로 조회하고, 노드마다 한 번씩만 발행합니다.
+     */
+    public void deliverRemote(Collection<String> emails, String name, Object data) {
+        if (emails.isEmpty()) return;
+
+        List<String> targets = new ArrayList<>(emails);
+        List<String> nodes = redisTemplate.opsForValue()
+                .multiGet(targets.stream().map(email -> STATUS_PREFIX + email).toList());
+        if (nodes == null) return;
+
+        Map<String, List<String>> targetsByNode = new HashMap<>();
+        for (int i = 0; i < targets.size(); i++) {
+            String node = nodes.get(i);
+            // 오프라인이거나 이미 로컬에서 처리된 대상은 건너뜀
+            if (node == null || node.equals(nodeId)) continue;
+            targetsByNode.computeIfAbsent(node, key -> new ArrayList<>()).add(targets.get(i));
+        }
+        if (targetsByNode.isEmpty()) return;
+
+        JsonNode payload = objectMapper.valueToTree(data);
+        targetsByNode.forEach((node, nodeTargets) -> {
+            try {
+                String message = objectMapper.writeValueAsString(new Envelope(nodeId, nodeTargets, name, payload));
+                redisTemplate.convertAndSend(CHANNEL_PREFIX + node, message);
+            } catch (Exception e) {
+                log.error("SSE 이벤트 발행 실패 (노드: {}, 이벤트: {})", node, name, e);
+            }
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Envelope envelope = objectMapper.readValue(message.getBody(), Envelope.class);
+            if (nodeId.equals(envelope.origin())) return;
+
+            // 문자열 데이터는 원래처럼 text 로, 나머지는 JSON 으로 전송되도록 복원
+            JsonNode data = envelope.data();
+            Object payload = (data != null && data.isTextual()) ? data.asText() : data;
+            for (String target : envelope.targets()) {
+                dispatchHub.enqueue(target, envelope.name(), payload);
+            }
+        } catch (Exception e) {
+            log.error("SSE 이벤트 수신 처리 실패", e);
+        }
+    }
+}
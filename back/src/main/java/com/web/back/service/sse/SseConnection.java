@@ -0,0 +1,92 @@
+package com.web.back.service.sse;
+
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * SSE 연결 하나와 그 연결의 전송 대기 큐
+ * 큐 접근은 모두 this 를 잠그고 수행하며, 실제 전송은 SseDispatchHub 의 writer 스레드가 담당합니다.
+ */
+public class SseConnection {
+    @Getter
+    private final String email;
+    @Getter
+    private final SseEmitter emitter;
+    @Getter
+    private final int shard;
+
+    private final Deque<PendingEvent> queue = new ArrayDeque<>();
+    private boolean draining;
+    private boolean closed;
+    private long droppedCount;
+
+    record PendingEvent(String name, Object data) {}
+
+    SseConnection(String email, SseEmitter emitter, int shard) {
+        this.email = email;
+        this.emitter = emitter;
+        this.shard = shard;
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    synchronized void markClosed() {
+        closed = true;
+        queue.clear();
+    }
+
+    synchronized int size() {
+        return queue.size();
+    }
+
+    synchronized void offer(PendingEvent event) {
+        queue.addLast(event);
+    }
+
+    synchronized void dropOldest() {
+        if (queue.pollFirst() != null) droppedCount++;
+    }
+
+    /**
+     * 같은 이름의 대기 이벤트 중 가장 오래된 것을 제거합니다. 제거했다면 true
+     */
+    synchronized boolean dropSameName(String name) {
+        Iterator<PendingEvent> it = queue.iterator();
+        while (it.hasNext()) {
+            if (it.next().name().equals(name)) {
+                it.remove();
+                droppedCount++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 전송 작업이 아직 예약되지 않았다면 예약 상태로 바꾸고 true 를 반환합니다.
+     */
+    synchronized boolean tryStartDraining() {
+        if (draining || closed || queue.isEmpty()) return false;
+        draining = true;
+        return true;
+    }
+
+    /**
+     * 다음에 보낼 이벤트를 꺼냅니다. 큐가 비었으면 예약 상태를 해제하고 null 을 반환합니다.
+     */
+    synchronized PendingEvent pollOrFinish() {
+        PendingEvent event = closed ? null : queue.pollFirst();
+        if (event == null) draining = false;
+        return event;
+    }
+
+    synchronized void finishDraining() {
+        draining = false;
+    }
+}
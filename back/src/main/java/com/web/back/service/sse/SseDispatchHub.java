@@ -0,0 +1,250 @@
+package com.web.back.service.sse;
+
+import com.web.back.enums.SseOverflowPolicy;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 이 노드에 연결된 SSE 클라이언트들의 전송을 담당하는 허브
+ * - 이벤트는 호출 스레드에서 연결별 bounded 큐에 넣기만 하고 바로 반환합니다.
+ * - 실제 emitter.send 는 이메일 해시로 나뉜 writer 스레드(샤드)가 큐를 비우며 수행합니다.
+ * - 느린 클라이언트는 자기 큐만 채우고, 넘치면 overflow 정책에 따라 처리되므로 다른 멤버의 전송을 막지 않습니다.
+ * - 소켓 버퍼가 찬 클라이언트(half-open 등)는 emitter.send 자체가 막히므로, 감시 작업이 전송 시간을 재고
+ *   send-timeout-ms 를 넘기면 그 연결을 끊고 샤드의 writer 스레드를 새로 바꿔 나머지 연결의 전송을 이어갑니다.
+ *   (막힌 스레드는 소켓 쓰기 타임아웃으로 풀리면 스스로 종료됨)
+ */
+@Component
+@Slf4j
+public class SseDispatchHub {
+    private final Map<String, SseConnection> connections = new ConcurrentHashMap<>();
+    private final Shard[] shards;
+    private final long sendTimeoutNanos;
+    private final int queueCapacity;
+    private final int drainBatch;
+    private final SseOverflowPolicy overflowPolicy;
+
+    private volatile Consumer<SseConnection> disconnectHandler = connection -> {};
+
+    public SseDispatchHub(
+            @Value("${sse.dispatch.shards:0}") int shards,
+            @Value("${sse.dispatch.queue-capacity:64}") int queueCapacity,
+            @Value("${sse.dispatch.drain-batch:16}") int drainBatch,
+            @Value("${sse.dispatch.overflow-policy:COALESCE}") SseOverflowPolicy overflowPolicy,
+            @Value("${sse.dispatch.send-timeout-ms:5000}") long sendTimeoutMillis
+    ) {
+        int shardCount = shards > 0 ? shards : Math.max(2, Runtime.getRuntime().availableProcessors());
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new Shard("sse-writer-" + i);
+        }
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        this.queueCapacity = queueCapacity;
+        this.drainBatch = drainBatch;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * 전송 실패나 overflow 로 연결을 끊어야 할 때 호출될 핸들러를 등록합니다.
+     */
+    public void onDisconnect(Consumer<SseConnection> handler) {
+        this.disconnectHandler = handler;
+    }
+
+    public SseConnection register(String email, SseEmitter emitter) {
+        SseConnection connection = new SseConnection(email, emitter, Math.floorMod(email.hashCode(), shards.length));
+        connections.put(email, connection);
+        return connection;
+    }
+
+    /**
+     * 현재 등록된 연결이 주어진 연결과 같을 때만 제거합니다.
+     * 재접속으로 이미 새 연결이 등록된 경우에는 false 를 반환하고 아무것도 하지 않습니다.
+     */
+    public boolean unregister(SseConnection connection) {
+        connection.markClosed();
+        return connections.remove(connection.getEmail(), connection);
+    }
+
+    public boolean isConnected(String email) {
+        return connections.containsKey(email);
+    }
+
+    public Set<String> connectedEmails() {
+        return connections.keySet();
+    }
+
+    /**
+     * 이 노드에 연결된 유저라면 전송 큐에 이벤트를 넣고 true 를 반환합니다.
+     */
+    public boolean enqueue(String email, String name, Object data) {
+        SseConnection connection = connections.get(email);
+        if (connection == null) return false;
+
+        boolean disconnect = false;
+        synchronized (connection) {
+            if (connection.isClosed()) return false;
+
+            if (connection.size() >= queueCapacity) {
+                switch (overflowPolicy) {
+                    case DROP_OLDEST -> connection.dropOldest();
+                    case COALESCE -> {
+                        if (!connection.dropSameName(name)) connection.dropOldest();
+                    }
+                    case DISCONNECT -> disconnect = true;
+                }
+            }
+            if (!disconnect) {
+                connection.offer(new SseConnection.PendingEvent(name, data));
+            }
+        }
+
+        if (disconnect) {
+            log.warn("SSE 전송 큐 초과로 연결을 종료합니다. (사용자: {})", email);
+            disconnect(connection, null);
+            return true;
+        }
+        scheduleDrain(connection);
+        return true;
+    }
+
+    /**
+     * send-timeout-ms 를 넘겨 끝나지 않는 전송이 있으면 그 연결을 끊고, 막힌 샤드의 writer 를 새 스레드로 바꿉니다.
+     */
+    @Scheduled(fixedDelayString = "${sse.dispatch.watchdog-interval-ms:1000}")
+    public void evictSlowConsumers() {
+        long now = System.nanoTime();
+        for (Shard shard : shards) {
+            InFlightSend send = shard.inFlight.get();
+            if (send == null || now - send.startedAt() < sendTimeoutNanos) continue;
+            if (!shard.inFlight.compareAndSet(send, null)) continue;
+
+            log.warn("SSE 전송이 {}ms 안에 끝나지 않아 연결을 종료합니다. (사용자: {})",
+                    TimeUnit.NANOSECONDS.toMillis(now - send.startedAt()), send.connection().getEmail());
+            shard.replaceWriter();
+            // 막힌 send 가 emitter 잠금을 쥐고 있으므로 emitter 는 writer 스레드가 풀려난 뒤 정리함
+            send.connection().markClosed();
+            disconnectHandler.accept(send.connection());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Shard shard : shards) {
+            shard.shutdown();
+        }
+    }
+
+    // 헬퍼 메서드
+    private void scheduleDrain(SseConnection connection) {
+        if (!connection.tryStartDraining()) return;
+        Shard shard = shards[connection.getShard()];
+        if (!shard.execute(() -> drain(shard, connection))) {
+            // 종료 중인 경우
+            connection.markClosed();
+        }
+    }
+
+    private void drain(Shard shard, SseConnection connection) {
+        for (int i = 0; i < drainBatch; i++) {
+            SseConnection.PendingEvent event = connection.pollOrFinish();
+            if (event == null) return;
+            InFlightSend send = new InFlightSend(connection, System.nanoTime());
+            shard.inFlight.set(send);
+            try {
+                connection.getEmitter().send(SseEmitter.event().name(event.name()).data(event.data()));
+            } catch (IOException | IllegalStateException e) {
+                log.error("SSE 전송 중 오류 발생 (사용자: {}), 연결을 정리합니다.", connection.getEmail());
+                connection.finishDraining();
+                disconnect(connection, e);
+                return;
+            } finally {
+                shard.inFlight.compareAndSet(send, null);
+            }
+            if (connection.isClosed()) {
+                // 전송이 늦어 감시 작업이 이미 끊은 연결
+                connection.finishDraining();
+                disconnect(connection, null);
+                return;
+            }
+        }
+        // 한 연결이 writer 를 독점하지 않도록 배치 단위로 다시 줄을 세움
+        connection.finishDraining();
+        scheduleDrain(connection);
+    }
+
+    private void disconnect(SseConnection connection, Throwable cause) {
+        connection.markClosed();
+        try {
+            if (cause != null) {
+                connection.getEmitter().completeWithError(cause);
+            } else {
+                connection.getEmitter().complete();
+            }
+        } catch (Exception ignored) {
+            // 이미 끝난 emitter
+        }
+        disconnectHandler.accept(connection);
+    }
+
+    private record InFlightSend(SseConnection connection, long startedAt) {}
+
+    /**
+     * writer 스레드 하나와 그 스레드가 지금 수행 중인 전송
+     * writer 교체와 작업 제출은 this 를 잠그고 수행하므로, 교체 중에 제출된 작업도 새 writer 로 옮겨집니다.
+     */
+    private static final class Shard {
+        private final String threadName;
+        private final AtomicReference<InFlightSend> inFlight = new AtomicReference<>();
+        private ThreadPoolExecutor writer;
+        private boolean stopped;
+
+        Shard(String threadName) {
+            this.threadName = threadName;
+            this.writer = newWriter();
+        }
+
+        synchronized boolean execute(Runnable task) {
+            if (stopped) return false;
+            writer.execute(task);
+            return true;
+        }
+
+        /**
+         * 막힌 스레드는 버리고, 그 스레드가 아직 시작하지 않은 작업을 새 writer 로 옮깁니다.
+         */
+        synchronized void replaceWriter() {
+            if (stopped) return;
+            List<Runnable> pending = new ArrayList<>();
+            writer.getQueue().drainTo(pending);
+            writer.shutdown();
+            writer = newWriter();
+            pending.forEach(writer::execute);
+        }
+
+        synchronized void shutdown() {
+            stopped = true;
+            writer.shutdownNow();
+        }
+
+        private ThreadPoolExecutor newWriter() {
+            return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
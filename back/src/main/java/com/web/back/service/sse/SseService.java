@@ -1,70 +1,73 @@
 package com.web.back.service.sse;
 
+import com.web.back.event.UserConnectedEvent;
+import com.web.back.event.UserDisconnectedEvent;
 import com.web.back.service.room.RoomService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SseService {
-    private final Map<String, SseEmitter> emitters = new ConcurrentHashMap<>();
-    private final StringRedisTemplate redisTemplate;
+    private final SseDispatchHub dispatchHub;
+    private final SseClusterBroker clusterBroker;
+    private final HeartbeatScheduler heartbeatScheduler;
     private final RoomService roomService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostConstruct
+    public void init() {
+        dispatchHub.onDisconnect(this::cleanup);
+    }
 
     public SseEmitter subscribe(String email) {
         SseEmitter emitter = new SseEmitter(Long.MAX_VALUE);
-        emitters.put(email, emitter);
+        SseConnection connection = dispatchHub.register(email, emitter);
 
-        redisTemplate.opsForValue().set("status:" + email, "online", 45, TimeUnit.SECONDS);
+        clusterBroker.markOnline(email);
+        heartbeatScheduler.register(email);
 
-        emitter.onCompletion(() -> cleanup(email));
-        emitter.onTimeout(() -> cleanup(email));
-        emitter.onError((e) -> cleanup(email));
+        emitter.onCompletion(() -> cleanup(connection));
+        emitter.onTimeout(() -> cleanup(connection));
+        emitter.onError((e) -> cleanup(connection));
 
         sendEvent(email, "connect", "Welcome!");
+        eventPublisher.publishEvent(new UserConnectedEvent(email));
         return emitter;
     }
 
+    /**
+     * 전송 큐에 이벤트를 넣고 바로 반환합니다. 실제 전송은 SseDispatchHub 의 writer 스레드가 수행합니다.
+     * 이 노드에 연결되지 않은 유저라면 연결된 노드로 Redis Pub/Sub 을 통해 전달합니다.
+     */
     public void sendEvent(String email, String name, Object data) {
-        SseEmitter emitter = emitters.get(email);
-        if (emitter != null) {
-            try {
-                emitter.send(SseEmitter.event().name(name).data(data));
-            } catch (IOException | IllegalStateException e) {
-                log.error("SSE 전송 중 오류 발생 (사용자: {}), 연결을 정리합니다.", email);
-                cleanup(email);
-            }
+        if (!dispatchHub.enqueue(email, name, data)) {
+            clusterBroker.deliverRemote(List.of(email), name, data);
         }
     }
 
-    @Scheduled(fixedDelay = 30000)
-    public void broadcastHeartbeat() {
-        emitters.keySet().parallelStream().forEach(email -> {
-            try {
-                sendEvent(email, "heartbeat", "ping");
-                redisTemplate.expire("status:" + email, 45, TimeUnit.SECONDS);
-            } catch (Exception e) {
-                emitters.remove(email);
-            }
-        });
-    }
+    public void cleanup(SseConnection connection) {
+        // 이미 정리되었거나 재접속으로 새 연결이 등록된 경우에는 상태를 건드리지 않음
+        if (!dispatchHub.unregister(connection)) return;
 
-    public void cleanup(String email) {
-        emitters.remove(email);
-        redisTemplate.delete("status:" + email);
+        String email = connection.getEmail();
+        heartbeatScheduler.unregister(email);
+        // 다른 노드로 재접속한 뒤 이 노드의 이전 연결이 늦게 정리되는 경우, 방 / 접속 상태는 새 노드의 것이므로 건드리지 않음
+        if (!clusterBroker.markOffline(email)) {
+            log.info("Cleanup: 유저 {} 는 다른 노드에 접속 중이므로 방 퇴장 처리를 생략", email);
+            return;
+        }
         roomService.leaveRoom(email);
+        eventPublisher.publishEvent(new UserDisconnectedEvent(email));
         log.info("Cleanup: 유저 {} 연결 종료 및 방 퇴장 처리", email);
     }
 
@@ -72,10 +75,13 @@ public class SseService {
         Set<String> members = roomService.getParticipants(ownerEmail);
         log.info("[Broadcast] Room: {}, Event: {}, Target Members Count: {}",
                 ownerEmail, eventName, members.size());
+        // 로컬 멤버에게는 바로 넣고, 나머지만 모아서 다른 노드로 전달
+        List<String> remoteMembers = new ArrayList<>();
         for (String memberEmail : members) {
-            if (!memberEmail.equals(ownerEmail)) {
-                sendEvent(memberEmail, eventName, data);
+            if (!memberEmail.equals(ownerEmail) && !dispatchHub.enqueue(memberEmail, eventName, data)) {
+                remoteMembers.add(memberEmail);
             }
         }
+        clusterBroker.deliverRemote(remoteMembers, eventName, data);
     }
 }
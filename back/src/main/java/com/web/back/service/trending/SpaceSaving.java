@@ -0,0 +1,157 @@
+package com.web.back.service.trending;
+
+import java.util.*;
+
+/**
+ * Space-Saving 상위 K 빈도 요약 (Metwally et al.)
+ * - 최대 capacity 개의 항목만 세며, 꽉 찬 상태에서 새 항목이 오면 가장 작은 카운터를 빼앗아 (최솟값 + 가중치)로 시작합니다.
+ *   그래서 count 는 실제 값 이상이고, 과대 추정 폭은 error 이하입니다. (count - error ≤ 실제 ≤ count)
+ * - 카운터는 (count, item) 순 TreeSet 으로 관리해 갱신 / 최솟값 교체가 O(log capacity) 입니다.
+ * - 여러 요약을 합칠 수 있고(merge), 모든 카운터를 같은 비율로 줄여(scale) 오래된 재생의 비중을 낮출 수 있습니다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 동기화합니다.
+ */
+public class SpaceSaving {
+    public record Entry(String item, double count, double error) {}
+
+    private static final Comparator<Slot> ORDER =
+            Comparator.comparingDouble((Slot slot) -> slot.count).thenComparing(slot -> slot.item);
+
+    private final int capacity;
+    private final Map<String, Slot> slots = new HashMap<>();
+    private final TreeSet<Slot> byCount = new TreeSet<>(ORDER);
+
+    private static final class Slot {
+        private final String item;
+        private double count;
+        private double error;
+
+        private Slot(String item, double count, double error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity 는 1 이상이어야 합니다.");
+        this.capacity = capacity;
+    }
+
+    public static SpaceSaving of(int capacity, Collection<Entry> entries) {
+        SpaceSaving summary = new SpaceSaving(capacity);
+        for (Entry entry : entries) {
+            summary.put(entry.item(), entry.count(), entry.error());
+        }
+        summary.trim();
+        return summary;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public boolean isEmpty() {
+        return slots.isEmpty();
+    }
+
+    public void offer(String item, double weight) {
+        Slot slot = slots.get(item);
+        if (slot != null) {
+            byCount.remove(slot);
+            slot.count += weight;
+            byCount.add(slot);
+            return;
+        }
+        if (slots.size() < capacity) {
+            put(item, weight, 0);
+            return;
+        }
+        Slot min = byCount.pollFirst();
+        slots.remove(min.item);
+        put(item, min.count + weight, min.count);
+    }
+
+    /**
+     * other 를 합칩니다. 한쪽 요약에 없는 항목은 그 요약이 꽉 차 있으면 최솟값만큼 나왔을 수 있으므로
+     * 최솟값을 count / error 양쪽에 더해 과대 추정 성질을 유지하고, 다시 capacity 개로 줄입니다.
+     */
+    public void merge(SpaceSaving other) {
+        double myMin = unseenBound();
+        double otherMin = other.unseenBound();
+
+        Map<String, Entry> merged = new HashMap<>();
+        for (Slot slot : slots.values()) {
+            Slot theirs = other.slots.get(slot.item);
+            merged.put(slot.item, theirs != null
+                    ? new Entry(slot.item, slot.count + theirs.count, slot.error + theirs.error)
+                    : new Entry(slot.item, slot.count + otherMin, slot.error + otherMin));
+        }
+        for (Slot theirs : other.slots.values()) {
+            if (!slots.containsKey(theirs.item)) {
+                merged.put(theirs.item, new Entry(theirs.item, theirs.count + myMin, theirs.error + myMin));
+            }
+        }
+
+        slots.clear();
+        byCount.clear();
+        for (Entry entry : merged.values()) {
+            put(entry.item(), entry.count(), entry.error());
+        }
+        trim();
+    }
+
+    /**
+     * 모든 카운터에 factor(0 ~ 1)를 곱합니다. 순서가 바뀌지 않으므로 재정렬 없이 값만 줄입니다.
+     */
+    public void scale(double factor) {
+        for (Slot slot : slots.values()) {
+            slot.count *= factor;
+            slot.error *= factor;
+        }
+    }
+
+    /**
+     * count 내림차순 상위 limit 개
+     */
+    public List<Entry> top(int limit) {
+        List<Entry> result = new ArrayList<>(Math.min(limit, slots.size()));
+        for (Slot slot : byCount.descendingSet()) {
+            if (result.size() >= limit) break;
+            result.add(new Entry(slot.item, slot.count, slot.error));
+        }
+        return result;
+    }
+
+    public List<Entry> entries() {
+        return top(slots.size());
+    }
+
+    public SpaceSaving copy() {
+        return of(capacity, entries());
+    }
+
+    // 헬퍼 메서드
+    private void put(String item, double count, double error) {
+        Slot slot = new Slot(item, count, error);
+        slots.put(item, slot);
+        byCount.add(slot);
+    }
+
+    private void trim() {
+        while (slots.size() > capacity) {
+            Slot min = byCount.pollFirst();
+            slots.remove(min.item);
+        }
+    }
+
+    /**
+     * 요약에 없는 항목의 실제 빈도 상한 (꽉 차지 않았다면 한 번도 나오지 않은 것)
+     */
+    private double unseenBound() {
+        return slots.size() < capacity || byCount.isEmpty() ? 0 : byCount.first().count;
+    }
+}
@@ -0,0 +1,280 @@
+package com.web.back.service.trending;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.web.back.dto.focus.TrendingVideoDto;
+import com.web.back.enums.TrendingScope;
+import com.web.back.repository.FriendRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 집중할 때 많이 듣는 음악(인기 음악) 집계
+ * - 집중 세션이 끝날 때마다 재생한 영상 ID 를 전체 / 유저별 Space-Saving 요약에 더합니다. (focus_log_videos 를 훑지 않음)
+ * - 조회는 메모리의 요약에서 바로 응답하고, 친구 범위는 나 + 팔로우 중인 유저의 요약을 합쳐 잠시 캐시합니다.
+ * - 노드마다 다음 스냅샷까지의 증분(delta)을 따로 모아 두었다가, 주기적으로 Redis 잠금을 잡고
+ *   Redis 의 스냅샷(trending:videos:global, trending:videos:users)에 합쳐 저장한 뒤 그 결과로 메모리 요약을 바꿉니다.
+ *   그래서 모든 노드가 스냅샷 주기 안에 같은 클러스터 전체 집계를 보게 되고, 재시작해도 집계가 이어집니다.
+ * - 스냅샷을 합칠 때 지난 시간만큼 반감기(half-life-hours)로 줄여, 최근에 많이 들은 음악이 위로 오도록 합니다.
+ */
+@Service
+@Slf4j
+public class TrendingMusicService {
+    static final String GLOBAL_KEY = "trending:videos:global";
+    static final String USERS_KEY = "trending:videos:users";
+    private static final String LOCK_KEY = "trending:videos:lock";
+    private static final Duration LOCK_TTL = Duration.ofSeconds(30);
+    private static final int MAX_LIMIT = 50;
+
+    private static final RedisScript<Long> RELEASE_IF_OWNER = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private record Snapshot(long decayedAt, List<SpaceSaving.Entry> entries) {}
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final FriendRepository friendRepository;
+    private final int globalCapacity;
+    private final int userCapacity;
+    private final double halfLifeSeconds;
+    private final Clock clock;
+
+    // 아래 요약들은 모두 lock 으로 보호
+    private final Object lock = new Object();
+    private SpaceSaving global;
+    private SpaceSaving globalDelta;
+    private final Map<UUID, SpaceSaving> userDeltas = new HashMap<>();
+    private final Cache<UUID, SpaceSaving> userViews;
+    private final Cache<UUID, List<SpaceSaving.Entry>> circleCache;
+
+    @Autowired
+    public TrendingMusicService(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            FriendRepository friendRepository,
+            @Value("${trending.global-capacity:1000}") int globalCapacity,
+            @Value("${trending.user-capacity:50}") int userCapacity,
+            @Value("${trending.half-life-hours:72}") double halfLifeHours,
+            @Value("${trending.max-users:20000}") long maxUsers,
+            @Value("${trending.circle-ttl-seconds:60}") long circleTtlSeconds
+    ) {
+        this(redisTemplate, objectMapper, friendRepository, globalCapacity, userCapacity, halfLifeHours,
+                maxUsers, circleTtlSeconds, Clock.systemDefaultZone());
+    }
+
+    TrendingMusicService(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, FriendRepository friendRepository,
+                         int globalCapacity, int userCapacity, double halfLifeHours, long maxUsers,
+                         long circleTtlSeconds, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.friendRepository = friendRepository;
+        this.globalCapacity = globalCapacity;
+        this.userCapacity = userCapacity;
+        this.halfLifeSeconds = halfLifeHours * 3600;
+        this.clock = clock;
+        this.global = new SpaceSaving(globalCapacity);
+        this.globalDelta = new SpaceSaving(globalCapacity);
+        // 스냅샷을 합친 유저만 갱신되므로, 다른 노드에서 늘어난 집계를 보도록 일정 시간 뒤 Redis 에서 다시 읽음
+        this.userViews = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+        this.circleCache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofSeconds(circleTtlSeconds))
+                .build();
+    }
+
+    /**
+     * 끝난 집중 세션에서 재생한 영상을 집계합니다. (세션당 영상별 1회) 실패해도 세션 종료를 막지 않습니다.
+     */
+    public void record(UUID userId, Collection<String> videoIds) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String videoId : videoIds) {
+            if (videoId != null && !videoId.isBlank()) distinct.add(videoId);
+        }
+        if (distinct.isEmpty()) return;
+
+        SpaceSaving view = userView(userId);
+        synchronized (lock) {
+            SpaceSaving delta = userDeltas.computeIfAbsent(userId, id -> new SpaceSaving(userCapacity));
+            for (String videoId : distinct) {
+                global.offer(videoId, 1);
+                globalDelta.offer(videoId, 1);
+                view.offer(videoId, 1);
+                delta.offer(videoId, 1);
+            }
+        }
+    }
+
+    public List<TrendingVideoDto> getTrending(UUID userId, TrendingScope scope, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<SpaceSaving.Entry> entries;
+        if (scope == TrendingScope.FRIENDS) {
+            entries = circleCache.get(userId, this::mergeCircle);
+        } else {
+            synchronized (lock) {
+                entries = global.top(size);
+            }
+        }
+        return entries.stream()
+                .limit(size)
+                .map(entry -> new TrendingVideoDto(entry.item(), entry.count()))
+                .toList();
+    }
+
+    /**
+     * 이 노드의 증분을 Redis 스냅샷에 합치고, 합친 결과로 메모리 요약을 바꿉니다.
+     * 다른 노드가 합치는 중이면 증분을 그대로 두고 다음 주기에 합칩니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${trending.snapshot-interval-ms:60000}", initialDelayString = "${trending.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        String token = UUID.randomUUID().toString();
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, LOCK_TTL))) return;
+        } catch (Exception e) {
+            log.warn("인기 음악 스냅샷 잠금 실패 (다음 주기에 다시 시도)", e);
+            return;
+        }
+
+        SpaceSaving pendingGlobal;
+        Map<UUID, SpaceSaving> pendingUsers;
+        synchronized (lock) {
+            pendingGlobal = globalDelta;
+            globalDelta = new SpaceSaving(globalCapacity);
+            pendingUsers = new HashMap<>(userDeltas);
+            userDeltas.clear();
+        }
+
+        boolean written = false;
+        try {
+            long now = clock.instant().getEpochSecond();
+            SpaceSaving mergedGlobal = decode(redisTemplate.opsForValue().get(GLOBAL_KEY), globalCapacity, now);
+            mergedGlobal.merge(pendingGlobal);
+
+            List<UUID> userIds = new ArrayList<>(pendingUsers.keySet());
+            Map<UUID, SpaceSaving> mergedUsers = new HashMap<>();
+            if (!userIds.isEmpty()) {
+                List<Object> stored = redisTemplate.opsForHash().multiGet(USERS_KEY, new ArrayList<>(
+                        userIds.stream().map(UUID::toString).toList()));
+                for (int i = 0; i < userIds.size(); i++) {
+                    SpaceSaving merged = decode((String) stored.get(i), userCapacity, now);
+                    merged.merge(pendingUsers.get(userIds.get(i)));
+                    mergedUsers.put(userIds.get(i), merged);
+                }
+            }
+
+            if (!pendingGlobal.isEmpty()) {
+                redisTemplate.opsForValue().set(GLOBAL_KEY, encode(mergedGlobal, now));
+            }
+            if (!mergedUsers.isEmpty()) {
+                Map<String, String> fields = new HashMap<>();
+                for (Map.Entry<UUID, SpaceSaving> entry : mergedUsers.entrySet()) {
+                    fields.put(entry.getKey().toString(), encode(entry.getValue(), now));
+                }
+                redisTemplate.opsForHash().putAll(USERS_KEY, fields);
+            }
+            written = true;
+
+            // 스냅샷을 합치는 동안 새로 들어온 증분까지 더한 것을 화면용 요약으로 사용
+            synchronized (lock) {
+                SpaceSaving view = mergedGlobal.copy();
+                view.merge(globalDelta);
+                global = view;
+                for (Map.Entry<UUID, SpaceSaving> entry : mergedUsers.entrySet()) {
+                    SpaceSaving userView = entry.getValue().copy();
+                    SpaceSaving delta = userDeltas.get(entry.getKey());
+                    if (delta != null) userView.merge(delta);
+                    userViews.put(entry.getKey(), userView);
+                }
+            }
+        } catch (Exception e) {
+            log.error("인기 음악 스냅샷 실패 (다음 주기에 다시 시도)", e);
+            if (!written) restore(pendingGlobal, pendingUsers);
+        } finally {
+            redisTemplate.execute(RELEASE_IF_OWNER, List.of(LOCK_KEY), token);
+        }
+    }
+
+    // 헬퍼 메서드
+    private SpaceSaving userView(UUID userId) {
+        SpaceSaving cached = userViews.getIfPresent(userId);
+        if (cached != null) return cached;
+
+        SpaceSaving loaded;
+        try {
+            Object stored = redisTemplate.opsForHash().get(USERS_KEY, userId.toString());
+            loaded = decode((String) stored, userCapacity, clock.instant().getEpochSecond());
+        } catch (Exception e) {
+            // 스냅샷을 읽지 못하면 이번 증분만 담고 캐시하지 않음 (다음에 다시 읽기)
+            log.warn("유저 인기 음악 스냅샷 조회 실패 (userId: {})", userId, e);
+            return new SpaceSaving(userCapacity);
+        }
+        SpaceSaving previous = userViews.asMap().putIfAbsent(userId, loaded);
+        return previous != null ? previous : loaded;
+    }
+
+    private List<SpaceSaving.Entry> mergeCircle(UUID userId) {
+        List<UUID> members = new ArrayList<>(friendRepository.findFollowingIds(userId));
+        members.add(userId);
+
+        List<SpaceSaving> views = new ArrayList<>(members.size());
+        for (UUID member : members) {
+            views.add(userView(member));
+        }
+        SpaceSaving circle = new SpaceSaving(globalCapacity);
+        synchronized (lock) {
+            for (SpaceSaving view : views) {
+                circle.merge(view);
+            }
+        }
+        return circle.top(MAX_LIMIT);
+    }
+
+    private void restore(SpaceSaving pendingGlobal, Map<UUID, SpaceSaving> pendingUsers) {
+        synchronized (lock) {
+            pendingGlobal.merge(globalDelta);
+            globalDelta = pendingGlobal;
+            pendingUsers.forEach((userId, pending) -> userDeltas.merge(userId, pending, (current, old) -> {
+                old.merge(current);
+                return old;
+            }));
+        }
+    }
+
+    /**
+     * 저장된 스냅샷을 읽어 지금 시각까지 반감기만큼 줄입니다. (없으면 빈 요약)
+     */
+    private SpaceSaving decode(String value, int capacity, long now) {
+        if (value == null) return new SpaceSaving(capacity);
+        try {
+            Snapshot snapshot = objectMapper.readValue(value, Snapshot.class);
+            SpaceSaving summary = SpaceSaving.of(capacity, snapshot.entries());
+            long elapsed = now - snapshot.decayedAt();
+            if (elapsed > 0 && halfLifeSeconds > 0) summary.scale(Math.pow(0.5, elapsed / halfLifeSeconds));
+            return summary;
+        } catch (Exception e) {
+            log.error("인기 음악 스냅샷 파싱 실패, 빈 집계로 시작합니다.", e);
+            return new SpaceSaving(capacity);
+        }
+    }
+
+    private String encode(SpaceSaving summary, long now) throws Exception {
+        return objectMapper.writeValueAsString(new Snapshot(now, summary.entries()));
+    }
+}
@@ -0,0 +1,53 @@
+-- focus_log 를 end_at 기준 월별 RANGE COLUMNS 파티션으로 전환합니다. (MariaDB, 한 번만 실행)
+-- 전환 후 focus-log.retention.mode=PARTITION 으로 설정하면
+-- FocusLogPartitionManager 가 미래 파티션을 미리 만들고, 보존 기간이 지난 파티션을 DROP 합니다.
+-- 실행 시점에 따라 고칠 값이 없도록 월 파티션은 만들지 않습니다. (3 참고)
+
+-- 1) 파티션 테이블은 FK 를 지원하지 않으므로 focus_log 를 참조하거나 focus_log 가 참조하는 FK 를 모두 제거합니다.
+--    (엔티티는 NO_CONSTRAINT 이지만, 이전 스키마에서 만들어진 FK 가 남아 있을 수 있음)
+SELECT IFNULL(CONCAT('ALTER TABLE focus_log_videos ',
+                     GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', constraint_name, '`') SEPARATOR ', ')), 'DO 0')
+INTO @drop_sql
+FROM information_schema.referential_constraints
+WHERE constraint_schema = DATABASE() AND table_name = 'focus_log_videos' AND referenced_table_name = 'focus_log';
+PREPARE stmt FROM @drop_sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SELECT IFNULL(CONCAT('ALTER TABLE focus_log ',
+                     GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', constraint_name, '`') SEPARATOR ', ')), 'DO 0')
+INTO @drop_sql
+FROM information_schema.referential_constraints
+WHERE constraint_schema = DATABASE() AND table_name = 'focus_log';
+PREPARE stmt FROM @drop_sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2) 모든 유니크 키에 파티션 키(end_at)가 포함되어야 합니다.
+--    end_at 이 없는 유니크 키(예: source_id 단독)는 제거합니다. (uk_focus_log_source(source_id, end_at)로 대체됨)
+SELECT IFNULL(CONCAT('ALTER TABLE focus_log ',
+                     GROUP_CONCAT(CONCAT('DROP INDEX `', index_name, '`') SEPARATOR ', ')), 'DO 0')
+INTO @drop_sql
+FROM (SELECT index_name
+      FROM information_schema.statistics
+      WHERE table_schema = DATABASE() AND table_name = 'focus_log'
+        AND non_unique = 0 AND index_name <> 'PRIMARY'
+      GROUP BY index_name
+      HAVING SUM(column_name = 'end_at') = 0) unique_keys;
+PREPARE stmt FROM @drop_sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+--    기본 키도 (id, end_at)으로 바꿉니다.
+ALTER TABLE focus_log
+    MODIFY id BIGINT NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, end_at);
+
+-- 3) p_future 하나로 파티셔닝합니다.
+--    애플리케이션이 뜨면 FocusLogPartitionManager 가 가장 오래된 행의 월부터 현재 + months-ahead 개월까지
+--    p_future 를 월 파티션으로 나눕니다. (가장 오래된 월 파티션이 그 이전의 모든 행을 담음)
+ALTER TABLE focus_log
+    PARTITION BY RANGE COLUMNS (end_at) (
+        PARTITION p_future VALUES LESS THAN (MAXVALUE)
+    );
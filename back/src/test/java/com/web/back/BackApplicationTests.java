@@ -1,10 +1,50 @@
 package com.web.back;
 
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import redis.embedded.RedisServer;
 
-@SpringBootTest
+import java.io.IOException;
+import java.net.ServerSocket;
+
+/**
+ * 전체 ApplicationContext 가 뜨는지 확인합니다. (빈 생성자 선택 / 의존성 누락 등은 단위 테스트로 잡히지 않음)
+ * 운영 설정(application.yml)은 저장소에 없으므로 필요한 값만 테스트용으로 넣고, H2 + 내장 Redis 로 띄웁니다.
+ */
+@SpringBootTest(properties = {
+		"jwt.secret=test-secret-key-for-context-loads-0123456789",
+		"jwt.expiration-time=3600000",
+		"jwt.issuer=blinky-test",
+		"jwt.audience=blinky-test",
+		"cors.allowed-origins=http://localhost:3000",
+		"oauth2.success.redirect-url=http://localhost:3000/oauth",
+		"spring.security.oauth2.client.registration.google.client-id=test",
+		"spring.security.oauth2.client.registration.google.client-secret=test",
+		"spring.security.oauth2.client.registration.google.scope=email,profile",
+		"focus-stats.backfill.on-startup=false"
+})
 class BackApplicationTests {
+	private static RedisServer redisServer;
+
+	@DynamicPropertySource
+	static void redisProperties(DynamicPropertyRegistry registry) throws IOException {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		redisServer = new RedisServer(port);
+		redisServer.start();
+		registry.add("spring.data.redis.host", () -> "localhost");
+		registry.add("spring.data.redis.port", () -> port);
+	}
+
+	@AfterAll
+	static void stopRedis() throws IOException {
+		redisServer.stop();
+	}
 
 	@Test
 	void contextLoads() {
@@ -0,0 +1,92 @@
+package com.web.back.security;
+
+import com.web.back.entity.User;
+import com.web.back.enums.AuthPrincipalMode;
+import com.web.back.enums.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class AuthenticationFilterTest {
+    private final UUID userId = UUID.randomUUID();
+
+    private TokenVersionService tokenVersionService;
+    private UserDetailsServiceImpl userDetailsService;
+    private AuthenticationFilter filter;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionService = mock(TokenVersionService.class);
+        userDetailsService = mock(UserDetailsServiceImpl.class);
+
+        JwtService jwtService = new JwtService(tokenVersionService);
+        ReflectionTestUtils.setField(jwtService, "secret", "0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(jwtService, "expirationTime", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "issuer", "test-issuer");
+        ReflectionTestUtils.setField(jwtService, "audience", "test-audience");
+        jwtService.init();
+
+        User user = User.builder().email("me@test.com").nickname("me").role(UserRole.USER).build();
+        ReflectionTestUtils.setField(user, "id", userId);
+        when(tokenVersionService.currentVersion(userId)).thenReturn(3L);
+        token = jwtService.getToken(user);
+
+        filter = new AuthenticationFilter(jwtService, userDetailsService, tokenVersionService);
+        ReflectionTestUtils.setField(filter, "principalMode", AuthPrincipalMode.CLAIMS);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void claimsMode_buildsPrincipalWithoutLoadingUser() throws Exception {
+        when(tokenVersionService.isCurrent(userId, 3L)).thenReturn(true);
+
+        Authentication authentication = authenticate();
+
+        assertThat(authentication.getPrincipal()).isEqualTo(new AuthPrincipal(userId, "me@test.com", UserRole.USER));
+        assertThat(authentication.getName()).isEqualTo("me@test.com");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void claimsMode_rejectsRevokedTokenVersion() throws Exception {
+        when(tokenVersionService.isCurrent(userId, 3L)).thenReturn(false);
+
+        assertThat(authenticate()).isNull();
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void claimsMode_fallsBackToDatabaseWhenRedisIsUnavailable() throws Exception {
+        AuthPrincipal loaded = new AuthPrincipal(userId, "me@test.com", UserRole.USER);
+        when(tokenVersionService.isCurrent(any(), anyLong())).thenThrow(new RedisConnectionFailureException("down"));
+        when(userDetailsService.loadUserByUsername("me@test.com")).thenReturn(loaded);
+
+        assertThat(authenticate().getPrincipal()).isSameAs(loaded);
+    }
+
+    private Authentication authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/stats");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,52 @@
+package com.web.back.security;
+
+import com.web.back.entity.User;
+import com.web.back.enums.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class JwtServiceTest {
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(mock(TokenVersionService.class));
+        ReflectionTestUtils.setField(jwtService, "secret", "0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(jwtService, "expirationTime", 1_500L);
+        ReflectionTestUtils.setField(jwtService, "issuer", "test-issuer");
+        ReflectionTestUtils.setField(jwtService, "audience", "test-audience");
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheMaxSize", 100L);
+        jwtService.init();
+
+        user = User.builder().email("me@test.com").nickname("me").role(UserRole.USER).build();
+        ReflectionTestUtils.setField(user, "id", UUID.randomUUID());
+    }
+
+    @Test
+    void cachedToken_isRejectedOnceExpired() throws InterruptedException {
+        String token = jwtService.getToken(user);
+        assertThat(jwtService.validateAndExtractUsername(token)).contains("me@test.com");
+        assertThat(jwtService.validateAndExtractUsername(token)).contains("me@test.com");
+
+        Thread.sleep(2_000);
+
+        assertThat(jwtService.validateAndExtractUsername(token)).isEmpty();
+    }
+
+    @Test
+    void tamperedToken_isNotServedFromCache() {
+        String token = jwtService.getToken(user);
+        jwtService.validateAndExtractUsername(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(jwtService.validateAndExtractUsername(tampered)).isEmpty();
+    }
+}
@@ -0,0 +1,63 @@
+package com.web.back.security;
+
+import com.web.back.enums.UserRole;
+import com.web.back.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class PrincipalCacheTest {
+    private static final String EMAIL = "me@test.com";
+
+    private final UUID userId = UUID.randomUUID();
+    private UserRepository userRepository;
+    private StringRedisTemplate redisTemplate;
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        redisTemplate = mock(StringRedisTemplate.class);
+        principalCache = new PrincipalCache(userRepository, redisTemplate, mock(RedisMessageListenerContainer.class),
+                new SimpleMeterRegistry(), 100, 60);
+        when(userRepository.findPrincipalByEmail(EMAIL))
+                .thenReturn(Optional.of(new AuthPrincipal(userId, EMAIL, UserRole.USER)))
+                .thenReturn(Optional.of(new AuthPrincipal(userId, EMAIL, UserRole.ADMIN)));
+    }
+
+    @Test
+    void get_loadsOncePerTtl() {
+        principalCache.get(EMAIL);
+        principalCache.get(EMAIL);
+
+        assertThat(principalCache.get(EMAIL)).map(AuthPrincipal::role).contains(UserRole.USER);
+        verify(userRepository, times(1)).findPrincipalByEmail(EMAIL);
+    }
+
+    @Test
+    void invalidate_evictsLocallyAndBroadcasts() {
+        principalCache.get(EMAIL);
+
+        principalCache.invalidate(EMAIL);
+
+        assertThat(principalCache.get(EMAIL)).map(AuthPrincipal::role).contains(UserRole.ADMIN);
+        verify(redisTemplate).convertAndSend("auth:principal:invalidate", EMAIL);
+    }
+
+    @Test
+    void get_doesNotCacheMissingUser() {
+        when(userRepository.findPrincipalByEmail("ghost@test.com")).thenReturn(Optional.empty());
+
+        assertThat(principalCache.get("ghost@test.com")).isEmpty();
+        assertThat(principalCache.get("ghost@test.com")).isEmpty();
+        verify(userRepository, times(2)).findPrincipalByEmail("ghost@test.com");
+    }
+}
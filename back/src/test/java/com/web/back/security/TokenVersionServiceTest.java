@@ -0,0 +1,65 @@
+package com.web.back.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+class TokenVersionServiceTest {
+    private final UUID userId = UUID.randomUUID();
+
+    private ValueOperations<String, String> valueOperations;
+    private TokenVersionService tokenVersionService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        tokenVersionService = new TokenVersionService(redisTemplate);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void revokeAll_outsideTransaction_bumpsVersionImmediately() {
+        tokenVersionService.revokeAll(userId);
+
+        verify(valueOperations).increment("auth:ver:" + userId);
+    }
+
+    @Test
+    void revokeAll_insideTransaction_waitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        tokenVersionService.revokeAll(userId);
+        verifyNoInteractions(valueOperations);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(valueOperations).increment("auth:ver:" + userId);
+    }
+
+    @Test
+    void revokeAll_rolledBack_keepsExistingTokens() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        tokenVersionService.revokeAll(userId);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(valueOperations);
+    }
+}
@@ -0,0 +1,155 @@
+package com.web.back.service;
+
+import com.web.back.dto.page.CursorPageResponseDto;
+import com.web.back.dto.user.UserSearchResponseDto;
+import com.web.back.entity.Friend;
+import com.web.back.entity.User;
+import com.web.back.enums.FriendStatus;
+import com.web.back.service.friend.FriendService;
+import com.web.back.service.pet.PetStateEngine;
+import com.web.back.service.presence.PresenceService;
+import com.web.back.service.rank.LeaderboardService;
+import com.web.back.service.search.UserSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 팔로잉 / 팔로워 목록 조회가 대상 수와 관계없이 고정된 수의 SQL 로 끝나는지 검증합니다. (N+1 회귀 방지)
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({UserService.class, FriendService.class, PetStateEngine.class})
+class UserServiceFriendListQueryTest {
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private PresenceService presenceService;
+
+    @MockitoBean
+    private LeaderboardService leaderboardService;
+
+    @MockitoBean
+    private UserSearchIndex userSearchIndex;
+
+    private User me;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        me = persistUser("me");
+    }
+
+    @Test
+    void getFollowings_usesConstantStatementCount() {
+        User mutual = persistUser("mutual");
+        User oneWay = persistUser("oneway");
+        User blocker = persistUser("blocker");
+        relate(me, mutual, FriendStatus.FOLLOW);
+        relate(mutual, me, FriendStatus.FOLLOW);
+        relate(me, oneWay, FriendStatus.FOLLOW);
+        relate(me, blocker, FriendStatus.FOLLOW);
+        relate(blocker, me, FriendStatus.BLOCK);
+
+        List<UserSearchResponseDto> few = countedFollowings();
+        long fewStatements = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 30; i++) {
+            User other = persistUser("extra" + i);
+            relate(me, other, FriendStatus.FOLLOW);
+            relate(other, me, FriendStatus.FOLLOW);
+        }
+        List<UserSearchResponseDto> many = countedFollowings();
+
+        assertThat(few).extracting(UserSearchResponseDto::nickname).containsExactly("mutual", "oneway");
+        assertThat(few).extracting(UserSearchResponseDto::isFollower).containsExactly(true, false);
+        assertThat(many).hasSize(32);
+        assertThat(fewStatements).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(fewStatements);
+    }
+
+    @Test
+    void getFollowers_excludesBlockedAndUsesConstantStatementCount() {
+        User followedBack = persistUser("back");
+        User fan = persistUser("fan");
+        User blocked = persistUser("blocked");
+        relate(followedBack, me, FriendStatus.FOLLOW);
+        relate(me, followedBack, FriendStatus.FOLLOW);
+        relate(fan, me, FriendStatus.FOLLOW);
+        relate(blocked, me, FriendStatus.FOLLOW);
+        relate(me, blocked, FriendStatus.BLOCK);
+        flushAndClear();
+
+        statistics.clear();
+        List<UserSearchResponseDto> followers = userService.getFollowers(principal(), null, 50).items();
+
+        assertThat(followers).extracting(UserSearchResponseDto::nickname).containsExactly("back", "fan");
+        assertThat(followers).extracting(UserSearchResponseDto::isFollowing).containsExactly(true, false);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getFollowings_pagesWithKeysetCursor() {
+        for (int i = 0; i < 25; i++) {
+            relate(me, persistUser("f" + i), FriendStatus.FOLLOW);
+        }
+        flushAndClear();
+
+        List<String> nicknames = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            statistics.clear();
+            CursorPageResponseDto<UserSearchResponseDto> page = userService.getFollowings(principal(), cursor, 10);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            page.items().forEach(item -> nicknames.add(item.nickname()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(nicknames).hasSize(25).doesNotHaveDuplicates().startsWith("f0", "f1", "f2").endsWith("f24");
+    }
+
+    private List<UserSearchResponseDto> countedFollowings() {
+        flushAndClear();
+        statistics.clear();
+        return userService.getFollowings(principal(), null, 50).items();
+    }
+
+    private Principal principal() {
+        return () -> me.getEmail();
+    }
+
+    private User persistUser(String nickname) {
+        User user = User.builder().email(nickname + "@test.com").nickname(nickname).build();
+        user.createDefaultPet("P_" + nickname);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void relate(User follower, User following, FriendStatus status) {
+        entityManager.persist(Friend.builder().follower(follower).following(following).status(status).build());
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
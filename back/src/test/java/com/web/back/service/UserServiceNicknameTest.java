@@ -0,0 +1,82 @@
+package com.web.back.service;
+
+import com.web.back.entity.User;
+import com.web.back.enums.UserRole;
+import com.web.back.event.UserProfileChangedEvent;
+import com.web.back.exception.NicknameExistsException;
+import com.web.back.repository.FriendRepository;
+import com.web.back.repository.UserRepository;
+import com.web.back.service.friend.FriendService;
+import com.web.back.service.pet.PetStateEngine;
+import com.web.back.service.presence.PresenceService;
+import com.web.back.service.rank.LeaderboardService;
+import com.web.back.service.search.UserSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Principal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * 닉네임 변경이 엔티티와 프로필 변경 이벤트에 반영되고, 이미 쓰이는 닉네임은 409 로 거절되는지 검증합니다.
+ */
+class UserServiceNicknameTest {
+    private final UUID userId = UUID.randomUUID();
+    private final Principal principal = () -> "me@test.com";
+
+    private UserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private UserService userService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+
+        user = User.builder().email("me@test.com").nickname("before").role(UserRole.USER).build();
+        ReflectionTestUtils.setField(user, "id", userId);
+        when(userRepository.findByEmail("me@test.com")).thenReturn(Optional.of(user));
+
+        userService = new UserService(userRepository, mock(FriendRepository.class), mock(FriendService.class),
+                mock(PresenceService.class), mock(LeaderboardService.class), mock(PetStateEngine.class),
+                mock(UserSearchIndex.class), eventPublisher);
+    }
+
+    @Test
+    void changeNickname_updatesUserAndPublishesProfileChange() {
+        userService.changeNickname("after", principal);
+
+        assertThat(user.getNickname()).isEqualTo("after");
+        verify(eventPublisher).publishEvent(new UserProfileChangedEvent(userId, "me@test.com", "before", "after"));
+    }
+
+    @Test
+    void changeNickname_rejectsNicknameTakenByAnotherUser() {
+        when(userRepository.existsByNicknameAndIdNot("taken", userId)).thenReturn(true);
+
+        assertThatThrownBy(() -> userService.changeNickname("taken", principal))
+                .isInstanceOf(NicknameExistsException.class);
+
+        assertThat(user.getNickname()).isEqualTo("before");
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void changeNickname_translatesConcurrentDuplicateIntoConflict() {
+        doThrow(new DataIntegrityViolationException("uk_nickname")).when(userRepository).flush();
+
+        assertThatThrownBy(() -> userService.changeNickname("raced", principal))
+                .isInstanceOf(NicknameExistsException.class);
+
+        verifyNoInteractions(eventPublisher);
+    }
+}
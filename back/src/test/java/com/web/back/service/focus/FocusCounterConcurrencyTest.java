@@ -0,0 +1,197 @@
+package com.web.back.service.focus;
+
+import com.web.back.entity.User;
+import com.web.back.repository.UserRepository;
+import com.web.back.service.pet.PetService;
+import com.web.back.service.pet.PetStateEngine;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.security.Principal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 같은 유저의 집중 세션 / 펫 상호작용이 동시에 반영되어도 누적 시간과 행복도 증가분이 사라지지 않는지 검증합니다.
+ * (여러 기기에서 거의 동시에 세션을 끝내는 상황)
+ */
+@DataJpaTest(properties = "focus.write-behind.flush-interval-ms=3600000")
+@Import({FocusWriteBehind.class, FocusLogIdAllocator.class, FocusRollup.class, PetService.class, PetStateEngine.class,
+        FocusCounterConcurrencyTest.RedisTestConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FocusCounterConcurrencyTest {
+    private static int redisPort;
+    private static RedisServer redisServer;
+
+    @Autowired
+    private FocusWriteBehind writeBehind;
+
+    @Autowired
+    private PetService petService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            redisPort = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        User newUser = User.builder().email("counter@test.com").nickname("counter").build();
+        newUser.createDefaultPet("P_counter");
+        user = userRepository.save(newUser);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from user_focus_daily");
+        jdbcTemplate.update("delete from user_focus_hourly");
+        jdbcTemplate.update("delete from focus_log_videos");
+        jdbcTemplate.update("delete from focus_log");
+        jdbcTemplate.update("delete from pet");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void concurrentSessions_neverLoseFocusTimeOrHappiness() throws Exception {
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        List<FocusCompletion> completions = new ArrayList<>();
+        long expectedSeconds = 0;
+        for (int i = 0; i < 24; i++) {
+            long seconds = 60L * (i + 1);
+            LocalDateTime endAt = base.minusMinutes(i);
+            completions.add(completion(endAt.minusSeconds(seconds), endAt, i));
+            expectedSeconds += seconds;
+        }
+        // 끝난 순서와 다르게 반영되는 경우까지 포함
+        Collections.shuffle(completions);
+
+        runConcurrently(completions.stream().<Callable<Void>>map(completion -> () -> {
+            writeBehind.writeThrough(completion);
+            return null;
+        }).toList());
+
+        assertThat(jdbcTemplate.queryForObject("select total_focus_sec from users", Long.class))
+                .isEqualTo(expectedSeconds);
+        assertThat(jdbcTemplate.queryForObject("select sum(focus_sec) from user_focus_daily", Long.class))
+                .isEqualTo(expectedSeconds);
+        assertThat(happiness()).isCloseTo(expectedSeconds / 3600.0, within(1e-9));
+        // 심심함은 가장 늦게 끝난 세션(i = 0)의 값
+        assertThat(jdbcTemplate.queryForObject("select boredom from pet", Double.class)).isEqualTo(0);
+        assertThat(jdbcTemplate.queryForObject("select last_updated from pet", Timestamp.class).toLocalDateTime())
+                .isEqualTo(base);
+    }
+
+    @Test
+    void interactionsRacingWithSessions_keepEveryHappinessIncrement() throws Exception {
+        Principal principal = user::getEmail;
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        List<Boolean> interacted = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            LocalDateTime endAt = base.minusSeconds(i);
+            FocusCompletion completion = completion(endAt.minusMinutes(30), endAt, 5);
+            tasks.add(() -> {
+                writeBehind.writeThrough(completion);
+                return null;
+            });
+            tasks.add(() -> {
+                try {
+                    petService.interactWithPet(principal);
+                    interacted.add(true);
+                } catch (OptimisticLockingFailureException e) {
+                    // 재시도 한도를 넘긴 상호작용은 반영되지 않은 것으로 응답되므로 세지 않음
+                }
+                return null;
+            });
+        }
+
+        runConcurrently(tasks);
+
+        assertThat(interacted).isNotEmpty();
+        assertThat(happiness()).isCloseTo(interacted.size() + 16 * 0.5, within(1e-9));
+        assertThat(jdbcTemplate.queryForObject("select total_focus_sec from users", Long.class))
+                .isEqualTo(16 * 1800L);
+    }
+
+    private void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private FocusCompletion completion(LocalDateTime startAt, LocalDateTime endAt, double boredom) {
+        double hours = Duration.between(startAt, endAt).getSeconds() / 3600.0;
+        return new FocusCompletion(UUID.randomUUID().toString(), user.getId(), startAt, endAt, List.of("v"), hours, boredom);
+    }
+
+    private double happiness() {
+        return jdbcTemplate.queryForObject("select happiness from pet", Double.class);
+    }
+
+    @TestConfiguration
+    static class RedisTestConfig {
+        @Bean
+        public LettuceConnectionFactory redisConnectionFactory() {
+            return new LettuceConnectionFactory("localhost", redisPort);
+        }
+
+        @Bean
+        public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory) {
+            return new StringRedisTemplate(connectionFactory);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.web.back.service.focus;
+
+import com.web.back.service.retention.RetentionRunner;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 보존 기간이 지난 집중 세션 로그 정리를 검증합니다.
+ * H2 에는 파티션이 없으므로 PARTITION 설정이어도 CHUNKED 로 동작해야 합니다.
+ */
+@DataJpaTest(properties = {"focus-log.retention.mode=PARTITION", "retention.batch-size=3", "retention.pause-ms=0"})
+@Import({FocusLogRetention.class, FocusLogPartitionManager.class, FocusLogExpiryJob.class, RetentionRunner.class,
+        FocusLogRetentionTest.RetentionTestConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FocusLogRetentionTest {
+    private static int redisPort;
+    private static RedisServer redisServer;
+
+    @Autowired
+    private FocusLogRetention retention;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RetentionRunner retentionRunner;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            redisPort = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redisServer.stop();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from focus_log_videos");
+        jdbcTemplate.update("delete from focus_log");
+    }
+
+    @Test
+    void purgeExpired_fallsBackToChunkedDeleteWithoutPartitions() {
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= 7; id++) {
+            insertLog(id, now.minusDays(100 + id), 2);
+        }
+        insertLog(8, now.minusDays(10), 2);
+
+        long deleted = retention.purgeExpired();
+
+        assertThat(deleted).isEqualTo(7 + 7 * 2);
+        assertThat(jdbcTemplate.queryForList("select id from focus_log", Long.class)).containsExactly(8L);
+        assertThat(jdbcTemplate.queryForList("select distinct focus_log_id from focus_log_videos", Long.class))
+                .containsExactly(8L);
+    }
+
+    @Test
+    void missingMonths_createsPartitionsAheadOfTime() {
+        List<YearMonth> missing = FocusLogPartitionManager.missingMonths(
+                List.of(YearMonth.of(2026, 9), YearMonth.of(2026, 10)), YearMonth.of(2026, 10), YearMonth.of(2026, 10), 3);
+
+        assertThat(missing).containsExactly(YearMonth.of(2026, 11), YearMonth.of(2026, 12), YearMonth.of(2027, 1));
+    }
+
+    @Test
+    void missingMonths_splitsFromOldestRowRightAfterConversion() {
+        // 전환 스크립트는 p_future 만 만들므로 이미 쌓인 행의 월부터 모두 월 파티션으로 나뉘어야 함
+        List<YearMonth> missing = FocusLogPartitionManager.missingMonths(
+                List.of(), YearMonth.of(2026, 8), YearMonth.of(2026, 11), 2);
+
+        assertThat(missing).containsExactly(YearMonth.of(2026, 8), YearMonth.of(2026, 9), YearMonth.of(2026, 10),
+                YearMonth.of(2026, 11), YearMonth.of(2026, 12), YearMonth.of(2027, 1));
+    }
+
+    @Test
+    void expiredPartitions_dropsOnlyMonthsEntirelyBeforeCutoff() {
+        List<String> names = List.of("p202606", "p202607", "p202608", "p202610", FocusLogPartitionManager.FUTURE_PARTITION);
+
+        // p202607 은 2026-08-01 미만까지 담으므로 컷오프가 8월 1일이면 삭제 대상, p202608 은 아직 유지
+        List<String> expired = FocusLogPartitionManager.expiredPartitions(names, LocalDateTime.of(2026, 8, 1, 0, 0));
+
+        assertThat(expired).containsExactly("p202606", "p202607");
+    }
+
+    @Test
+    void dropBound_coversEveryPartitionToBeDropped() {
+        List<String> names = List.of("p202606", "p202607", "p202608", FocusLogPartitionManager.FUTURE_PARTITION);
+
+        assertThat(FocusLogPartitionManager.dropBound(names, LocalDateTime.of(2026, 8, 15, 0, 0)))
+                .contains(LocalDateTime.of(2026, 8, 1, 0, 0));
+        assertThat(FocusLogPartitionManager.dropBound(names, LocalDateTime.of(2026, 6, 15, 0, 0))).isEmpty();
+    }
+
+    @Test
+    void partitionVideoJob_deletesVideosOfRowsInDroppedPartitionsOnly() {
+        LocalDateTime dropBound = LocalDateTime.of(2026, 8, 1, 0, 0);
+        // 다른 노드가 미리 받아 둔 작은 ID 블록으로 최근 세션이 저장된 상황 (ID 순서 != end_at 순서)
+        insertLog(3, dropBound.plusDays(60), 1);
+        insertLog(60, dropBound.plusDays(1), 1);
+        for (long id : new long[]{51, 52, 55, 70}) {
+            insertLog(id, dropBound.minusDays(id), 2);
+        }
+
+        long deleted = retentionRunner.run(new FocusLogPartitionVideoJob(jdbcTemplate, dropBound));
+
+        assertThat(deleted).isEqualTo(4 * 2);
+        assertThat(jdbcTemplate.queryForList("select focus_log_id from focus_log_videos order by focus_log_id", Long.class))
+                .containsExactly(3L, 60L);
+        // 부모 행은 파티션 DROP 으로 지워지므로 남겨 둠
+        assertThat(jdbcTemplate.queryForObject("select count(*) from focus_log", Long.class)).isEqualTo(6);
+    }
+
+    private void insertLog(long id, LocalDateTime endAt, int videos) {
+        jdbcTemplate.update("insert into focus_log (id, user_id, start_at, end_at, source_id) values (?, ?, ?, ?, ?)",
+                id, UUID.randomUUID().toString(), endAt.minusMinutes(25), endAt, UUID.randomUUID().toString());
+        for (int i = 0; i < videos; i++) {
+            jdbcTemplate.update("insert into focus_log_videos (focus_log_id, video_id) values (?, ?)", id, "v" + i);
+        }
+    }
+
+    @TestConfiguration
+    static class RetentionTestConfig {
+        @Bean
+        public LettuceConnectionFactory redisConnectionFactory() {
+            return new LettuceConnectionFactory("localhost", redisPort);
+        }
+
+        @Bean
+        public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory) {
+            return new StringRedisTemplate(connectionFactory);
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.web.back.service.focus;
+
+import com.web.back.dto.focus.DailyFocusDto;
+import com.web.back.dto.focus.FocusStatsResponseDto;
+import com.web.back.entity.User;
+import com.web.back.repository.UserRepository;
+import com.web.back.security.AuthPrincipal;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 집중 세션 반영 시 일간 / 시간별 집계가 자정을 넘는 세션까지 정확히 쌓이는지,
+ * 백필이 원본 로그로 같은 결과를 다시 만드는지 검증합니다.
+ */
+@DataJpaTest(properties = "focus-stats.backfill.on-startup=false")
+@Import({FocusWriteBehind.class, FocusLogIdAllocator.class, FocusRollup.class, FocusRollupBackfill.class,
+        FocusStatsService.class, FocusRollupTest.RedisTestConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FocusRollupTest {
+    private static int redisPort;
+    private static RedisServer redisServer;
+
+    @Autowired
+    private FocusWriteBehind writeBehind;
+
+    @Autowired
+    private FocusRollupBackfill backfill;
+
+    @Autowired
+    private FocusStatsService statsService;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private LocalDate today;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            redisPort = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+        writeBehind.init();
+        today = LocalDate.now();
+
+        User newUser = User.builder().email("rollup@test.com").nickname("rollup").build();
+        newUser.createDefaultPet("P_rollup");
+        user = userRepository.save(newUser);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from user_focus_daily");
+        jdbcTemplate.update("delete from user_focus_hourly");
+        jdbcTemplate.update("delete from focus_log_videos");
+        jdbcTemplate.update("delete from focus_log");
+        jdbcTemplate.update("delete from pet");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void split_dividesSessionAtMidnightAndHourBoundaries() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 23, 30);
+        LocalDateTime end = LocalDateTime.of(2025, 3, 2, 1, 10);
+
+        assertThat(FocusRollup.split(start, end, ChronoUnit.DAYS)).containsExactly(
+                Map.entry(LocalDateTime.of(2025, 3, 1, 0, 0), 1800L),
+                Map.entry(LocalDateTime.of(2025, 3, 2, 0, 0), 4200L));
+        assertThat(FocusRollup.split(start, end, ChronoUnit.HOURS)).containsExactly(
+                Map.entry(LocalDateTime.of(2025, 3, 1, 23, 0), 1800L),
+                Map.entry(LocalDateTime.of(2025, 3, 2, 0, 0), 3600L),
+                Map.entry(LocalDateTime.of(2025, 3, 2, 1, 0), 600L));
+    }
+
+    @Test
+    void flush_addsSessionsToRollupsOnlyOnce() {
+        LocalDateTime midnight = today.atStartOfDay();
+        FocusCompletion crossing = completion(midnight.minusMinutes(30), midnight.plusMinutes(20));
+        writeBehind.writeThrough(crossing);
+        // 이미 반영된 세션이 큐에서 다시 처리되어도 집계는 그대로여야 함
+        writeBehind.enqueue(crossing);
+        writeBehind.enqueue(completion(midnight.plusHours(1), midnight.plusHours(1).plusMinutes(5)));
+
+        writeBehind.flush();
+
+        assertThat(daily(today.minusDays(1))).isEqualTo(1800);
+        assertThat(daily(today)).isEqualTo(1200 + 300);
+        assertThat(hourly(midnight.minusHours(1))).isEqualTo(1800);
+        assertThat(hourly(midnight)).isEqualTo(1200);
+        assertThat(hourly(midnight.plusHours(1))).isEqualTo(300);
+    }
+
+    @Test
+    void backfill_rebuildsSameRollupsFromFocusLogs() {
+        LocalDateTime midnight = today.atStartOfDay();
+        writeBehind.writeThrough(completion(midnight.minusHours(2), midnight.plusMinutes(45)));
+        writeBehind.writeThrough(completion(midnight.minusDays(3).plusHours(9), midnight.minusDays(3).plusHours(10)));
+        List<Map<String, Object>> incremental = jdbcTemplate.queryForList(
+                "select stat_date, focus_sec from user_focus_daily order by stat_date");
+
+        // 집계 도입 전 로그 + 잘못 쌓인 집계를 백필이 바로잡는 상황
+        jdbcTemplate.update("delete from user_focus_hourly");
+        jdbcTemplate.update("update user_focus_daily set focus_sec = 1");
+
+        assertThat(backfill.run()).isEqualTo(1);
+        assertThat(backfill.run()).isEqualTo(1);
+
+        assertThat(jdbcTemplate.queryForList("select stat_date, focus_sec from user_focus_daily order by stat_date"))
+                .isEqualTo(incremental);
+        assertThat(hourly(midnight.minusHours(1))).isEqualTo(3600);
+        assertThat(hourly(midnight)).isEqualTo(2700);
+        assertThat(redisTemplate.hasKey(FocusRollupBackfill.DONE_KEY)).isTrue();
+        assertThat(redisTemplate.hasKey(FocusRollupBackfill.CHECKPOINT_KEY)).isFalse();
+    }
+
+    @Test
+    void getStats_fillsEveryDayAndSumsHourOfDay() {
+        LocalDateTime midnight = today.atStartOfDay();
+        writeBehind.writeThrough(completion(midnight.minusMinutes(10), midnight.plusMinutes(20)));
+        writeBehind.writeThrough(completion(midnight.minusDays(10), midnight.minusDays(10).plusMinutes(5)));
+
+        FocusStatsResponseDto stats = statsService.getStats(principal(), 7);
+
+        assertThat(stats.daily()).hasSize(7);
+        assertThat(stats.from()).isEqualTo(today.minusDays(6));
+        assertThat(stats.daily().get(5)).isEqualTo(new DailyFocusDto(today.minusDays(1), 600));
+        assertThat(stats.daily().get(6)).isEqualTo(new DailyFocusDto(today, 1200));
+        assertThat(stats.totalFocusSec()).isEqualTo(1800);
+        assertThat(stats.hourOfDay()).hasSize(24);
+        assertThat(stats.hourOfDay().get(23)).isEqualTo(600);
+        assertThat(stats.hourOfDay().get(0)).isEqualTo(1200);
+    }
+
+    private FocusCompletion completion(LocalDateTime startAt, LocalDateTime endAt) {
+        double hours = Duration.between(startAt, endAt).getSeconds() / 3600.0;
+        return new FocusCompletion(UUID.randomUUID().toString(), user.getId(), startAt, endAt, List.of(), hours, 0);
+    }
+
+    private AuthPrincipal principal() {
+        return new AuthPrincipal(user.getId(), user.getEmail(), user.getRole());
+    }
+
+    private long daily(LocalDate day) {
+        return jdbcTemplate.queryForObject(
+                "select focus_sec from user_focus_daily where stat_date = ?", Long.class, day);
+    }
+
+    private long hourly(LocalDateTime hour) {
+        return jdbcTemplate.queryForObject(
+                "select focus_sec from user_focus_hourly where stat_hour = ?", Long.class, hour);
+    }
+
+    @TestConfiguration
+    static class RedisTestConfig {
+        @Bean
+        public LettuceConnectionFactory redisConnectionFactory() {
+            return new LettuceConnectionFactory("localhost", redisPort);
+        }
+
+        @Bean
+        public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory) {
+            return new StringRedisTemplate(connectionFactory);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.web.back.service.focus;
+
+import com.web.back.entity.User;
+import com.web.back.repository.UserRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 큐에 들어간 집중 세션이 노드가 죽은 뒤에도 다른 컨슈머에 의해 정확히 한 번 DB 에 반영되는지 검증합니다.
+ */
+@DataJpaTest(properties = "focus.write-behind.claim-idle-ms=0")
+@Import({FocusWriteBehind.class, FocusLogIdAllocator.class, FocusRollup.class, FocusWriteBehindRecoveryTest.RedisTestConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FocusWriteBehindRecoveryTest {
+    private static int redisPort;
+    private static RedisServer redisServer;
+
+    @Autowired
+    private FocusWriteBehind writeBehind;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            redisPort = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+        writeBehind.init();
+
+        User newUser = User.builder().email("focus@test.com").nickname("focus").build();
+        newUser.createDefaultPet("P_focus");
+        user = userRepository.save(newUser);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from user_focus_daily");
+        jdbcTemplate.update("delete from user_focus_hourly");
+        jdbcTemplate.update("delete from focus_log_videos");
+        jdbcTemplate.update("delete from focus_log");
+        jdbcTemplate.update("delete from pet");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void isAppendOnly_followsRedisConfig() {
+        assertThat(writeBehind.isAppendOnly()).isFalse();
+
+        setAppendOnly("yes");
+        try {
+            assertThat(writeBehind.isAppendOnly()).isTrue();
+        } finally {
+            setAppendOnly("no");
+        }
+    }
+
+    @Test
+    void flush_replaysEntriesAbandonedByCrashedConsumer() {
+        LocalDateTime end = LocalDateTime.now().withNano(0);
+        writeBehind.enqueue(completion(end.minusMinutes(50), end.minusMinutes(25), List.of("a", "b")));
+        writeBehind.enqueue(completion(end.minusMinutes(25), end, List.of("c")));
+        crashAfterRead();
+
+        writeBehind.flush();
+
+        assertThat(count("focus_log")).isEqualTo(2);
+        assertThat(count("focus_log_videos")).isEqualTo(3);
+        assertThat(totalFocusSec()).isEqualTo(3000);
+        assertThat(jdbcTemplate.queryForObject("select happiness from pet", Double.class))
+                .isCloseTo(3000 / 3600.0, within(1e-9));
+        assertThat(redisTemplate.opsForStream().pending(FocusWriteBehind.STREAM_KEY, FocusWriteBehind.GROUP)
+                .getTotalPendingMessages()).isZero();
+    }
+
+    @Test
+    void flush_skipsEntriesCommittedBeforeCrash() {
+        LocalDateTime end = LocalDateTime.now().withNano(0);
+        FocusCompletion completion = completion(end.minusMinutes(25), end, List.of("a"));
+        writeBehind.enqueue(completion);
+        crashAfterRead();
+        // 죽은 노드가 DB 커밋까지는 마쳤지만 XACK 전에 죽은 상황
+        writeBehind.writeThrough(completion);
+
+        writeBehind.flush();
+
+        assertThat(count("focus_log")).isEqualTo(1);
+        assertThat(count("focus_log_videos")).isEqualTo(1);
+        assertThat(totalFocusSec()).isEqualTo(1500);
+    }
+
+    @Test
+    void flush_keepsNewerBoredomButStillAddsHappiness() {
+        LocalDateTime end = LocalDateTime.now().withNano(0);
+        jdbcTemplate.update("update pet set happiness = 7, boredom = 1, last_updated = ?", end.plusMinutes(1));
+        writeBehind.enqueue(completion(end.minusMinutes(25), end, List.of()));
+
+        writeBehind.flush();
+
+        assertThat(totalFocusSec()).isEqualTo(1500);
+        assertThat(jdbcTemplate.queryForObject("select happiness from pet", Double.class))
+                .isCloseTo(7 + 1500 / 3600.0, within(1e-9));
+        assertThat(jdbcTemplate.queryForObject("select boredom from pet", Double.class)).isEqualTo(1);
+    }
+
+    /**
+     * 다른 노드가 항목을 읽은 뒤 ACK 하지 못하고 죽은 상황을 만듭니다.
+     */
+    @SuppressWarnings("unchecked")
+    private void crashAfterRead() {
+        redisTemplate.opsForStream().read(
+                Consumer.from(FocusWriteBehind.GROUP, "crashed-node"),
+                StreamReadOptions.empty().count(100),
+                StreamOffset.create(FocusWriteBehind.STREAM_KEY, ReadOffset.lastConsumed()));
+    }
+
+    private void setAppendOnly(String value) {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().setConfig("appendonly", value);
+            return null;
+        });
+    }
+
+    private FocusCompletion completion(LocalDateTime startAt, LocalDateTime endAt, List<String> videoIds) {
+        double hours = Duration.between(startAt, endAt).getSeconds() / 3600.0;
+        return new FocusCompletion(UUID.randomUUID().toString(), user.getId(), startAt, endAt, videoIds, hours, 0);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+    private long totalFocusSec() {
+        return jdbcTemplate.queryForObject("select total_focus_sec from users", Long.class);
+    }
+
+    @TestConfiguration
+    static class RedisTestConfig {
+        @Bean
+        public LettuceConnectionFactory redisConnectionFactory() {
+            return new LettuceConnectionFactory("localhost", redisPort);
+        }
+
+        @Bean
+        public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory) {
+            return new StringRedisTemplate(connectionFactory);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.web.back.service.pet;
+
+import com.web.back.dto.pet.PetAlertDto;
+import com.web.back.event.PetStatusChangedEvent;
+import com.web.back.event.UserDisconnectedEvent;
+import com.web.back.repository.PetRepository;
+import com.web.back.repository.projection.PetStateView;
+import com.web.back.service.sse.SseDispatchHub;
+import com.web.back.service.sse.SseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PetAlertSchedulerTest {
+    private static final String EMAIL = "owner@test.com";
+
+    private final PetRepository petRepository = mock(PetRepository.class);
+    private final SseDispatchHub dispatchHub = mock(SseDispatchHub.class);
+    private final SseService sseService = mock(SseService.class);
+    // 초당 20 씩 심심해지는 곡선 → 임계값 20 은 1초 뒤에 도달
+    private final PetStateEngine engine = new PetStateEngine(
+            DecayCurve.linear(20), DecayCurve.linear(0), Clock.systemDefaultZone());
+    private PetAlertScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new PetAlertScheduler(petRepository, engine, dispatchHub, sseService, new double[]{20});
+        when(dispatchHub.isConnected(EMAIL)).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void onPetStatusChanged_pushesAlertWhenThresholdIsCrossed() {
+        LocalDateTime now = LocalDateTime.now();
+        when(petRepository.findStateByOwnerEmail(EMAIL)).thenReturn(Optional.of(new PetStateView(50, 0, now)));
+
+        scheduler.onPetStatusChanged(new PetStatusChangedEvent(EMAIL, 50, 0, now));
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(sseService, timeout(3000)).sendEvent(eq(EMAIL), eq(PetAlertScheduler.EVENT_NAME), payload.capture());
+        PetAlertDto alert = (PetAlertDto) payload.getValue();
+        assertThat(alert.threshold()).isEqualTo(20);
+        assertThat(alert.boredom()).isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void onPetStatusChanged_skipsThresholdAlreadyCrossed() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+
+        scheduler.onPetStatusChanged(new PetStatusChangedEvent(EMAIL, 50, 30, now));
+
+        Thread.sleep(300);
+        verifyNoInteractions(sseService, petRepository);
+    }
+
+    @Test
+    void onUserDisconnected_cancelsPendingAlert() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        when(petRepository.findStateByOwnerEmail(EMAIL)).thenReturn(Optional.of(new PetStateView(50, 0, now)));
+
+        scheduler.onPetStatusChanged(new PetStatusChangedEvent(EMAIL, 50, 0, now));
+        scheduler.onUserDisconnected(new UserDisconnectedEvent(EMAIL));
+
+        Thread.sleep(2500);
+        verifyNoInteractions(sseService);
+    }
+}
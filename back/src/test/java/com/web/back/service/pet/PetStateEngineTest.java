@@ -0,0 +1,60 @@
+package com.web.back.service.pet;
+
+import com.web.back.service.pet.PetStateEngine.PetState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class PetStateEngineTest {
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final PetStateEngine engine = new PetStateEngine(
+            DecayCurve.linear(0.028), DecayCurve.linear(0.00055), Clock.fixed(NOW, KST));
+
+    @Test
+    void evaluate_appliesDecaySinceLastUpdate() {
+        LocalDateTime tenMinutesAgo = LocalDateTime.ofInstant(NOW, KST).minusMinutes(10);
+
+        PetState state = engine.batch().evaluate(10, 20, tenMinutesAgo);
+
+        assertThat(state.boredom()).isCloseTo(20 + 600 * 0.028, within(1e-9));
+        assertThat(state.happiness()).isCloseTo(10 - 600 * 0.00055, within(1e-9));
+    }
+
+    @Test
+    void evaluate_clampsToBounds() {
+        LocalDateTime longAgo = LocalDateTime.ofInstant(NOW, KST).minusDays(30);
+
+        PetState state = engine.batch().evaluate(1, 50, longAgo);
+
+        assertThat(state.boredom()).isEqualTo(PetStateEngine.MAX_BOREDOM);
+        assertThat(state.happiness()).isEqualTo(PetStateEngine.MIN_HAPPINESS);
+    }
+
+    @Test
+    void piecewiseCurve_integratesEachSegment() {
+        DecayCurve curve = DecayCurve.parse("0:1, 10:0.5, 20:0");
+
+        assertThat(curve.deltaAt(5)).isEqualTo(5);
+        assertThat(curve.deltaAt(14)).isEqualTo(12);
+        assertThat(curve.deltaAt(100)).isEqualTo(15);
+
+        assertThat(curve.secondsUntil(12)).isEqualTo(14);
+        assertThat(curve.secondsUntil(15)).isEqualTo(20);
+        assertThat(curve.secondsUntil(16)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void parse_rejectsUnorderedSegments() {
+        assertThatThrownBy(() -> DecayCurve.parse("0:1,10:1,5:1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DecayCurve.parse("5:1")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
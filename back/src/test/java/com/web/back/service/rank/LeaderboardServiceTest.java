@@ -0,0 +1,115 @@
+package com.web.back.service.rank;
+
+import com.web.back.enums.RankWindow;
+import com.web.back.repository.UserRepository;
+import com.web.back.repository.projection.UserRankView;
+import org.junit.jupiter.api.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 누적 리더보드 재구성이 DB 보다 앞선 ZSET 증분(재구성 중 / 쓰기 지연 큐 대기 중인 세션)을 덮어쓰지 않는지 검증합니다.
+ */
+class LeaderboardServiceTest {
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private final UUID ahead = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private final UUID behind = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private final UUID missing = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    private UserRepository userRepository;
+    private LeaderboardService leaderboardService;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+        userRepository = mock(UserRepository.class);
+        leaderboardService = new LeaderboardService(redisTemplate, userRepository);
+    }
+
+    @Test
+    void reconcile_raisesStaleScoresWithoutDroppingPendingIncrements() {
+        LocalDateTime now = LocalDateTime.now();
+        // DB 에는 아직 반영되지 않은 (큐에 남은) 세션 1시간
+        leaderboardService.addFocusSession(ahead, now.minusHours(1), now);
+        // Redis 가 재시작되어 일부 점수만 남은 상황
+        leaderboardService.addFocusSession(behind, now.minusMinutes(10), now);
+        given(userRepository.findByIdGreaterThanOrderByIdAsc(eq(new UUID(0L, 0L)), any(Limit.class), eq(UserRankView.class)))
+                .willReturn(List.of(view(ahead, 0L), view(behind, 7200L), view(missing, 300L)));
+
+        leaderboardService.reconcile();
+
+        assertThat(leaderboardService.scoreOf(RankWindow.ALL, ahead, -1)).isEqualTo(3600L);
+        assertThat(leaderboardService.scoreOf(RankWindow.ALL, behind, -1)).isEqualTo(7200L);
+        assertThat(leaderboardService.scoreOf(RankWindow.ALL, missing, -1)).isEqualTo(300L);
+    }
+
+    @Test
+    void reconcile_keepsIncrementsAppliedWhileReadingPages() {
+        LocalDateTime now = LocalDateTime.now();
+        given(userRepository.findByIdGreaterThanOrderByIdAsc(eq(new UUID(0L, 0L)), any(Limit.class), eq(UserRankView.class)))
+                .willAnswer(invocation -> {
+                    // 페이지를 읽은 직후 끝난 세션 (DB 에는 아직 없음)
+                    leaderboardService.addFocusSession(ahead, now.minusMinutes(30), now);
+                    return List.of(view(ahead, 600L));
+                });
+
+        leaderboardService.reconcile();
+
+        assertThat(leaderboardService.scoreOf(RankWindow.ALL, ahead, -1)).isEqualTo(1800L);
+    }
+
+    private UserRankView view(UUID id, Long totalFocusSec) {
+        return new UserRankView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getNickname() {
+                return "user";
+            }
+
+            @Override
+            public Long getTotalFocusSec() {
+                return totalFocusSec;
+            }
+        };
+    }
+}
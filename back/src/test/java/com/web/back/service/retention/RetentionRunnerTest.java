@@ -0,0 +1,115 @@
+package com.web.back.service.retention;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 묶음 삭제가 중간에 죽어도 체크포인트 이후부터 이어서 진행되는지 검증합니다.
+ */
+class RetentionRunnerTest {
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RetentionRunner runner;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory.getConnection().serverCommands().flushAll();
+        runner = new RetentionRunner(redisTemplate, meterRegistry, 10, 0, 60);
+    }
+
+    @Test
+    void run_resumesFromCheckpointAfterCrash() {
+        FakeJob job = new FakeJob(35);
+        job.failOnBatch = 3;
+
+        assertThatThrownBy(() -> runner.run(job)).isInstanceOf(IllegalStateException.class);
+        assertThat(job.rows).hasSize(15);
+        assertThat(redisTemplate.opsForValue().get("retention:checkpoint:fake")).isEqualTo("20");
+
+        job.failOnBatch = -1;
+        long deleted = runner.run(job);
+
+        assertThat(deleted).isEqualTo(15);
+        assertThat(job.rows).isEmpty();
+        // 재시작 후 첫 조회는 처음(0)이 아니라 체크포인트(20) 다음부터
+        assertThat(job.afterIds).containsExactly(0L, 10L, 20L, 20L, 30L);
+        assertThat(redisTemplate.hasKey("retention:checkpoint:fake")).isFalse();
+        assertThat(meterRegistry.counter("retention.rows.deleted", "job", "fake").count()).isEqualTo(35);
+    }
+
+    @Test
+    void run_skipsWhenAnotherNodeHoldsLock() {
+        redisTemplate.opsForValue().set("retention:lock:fake", "other-node");
+        FakeJob job = new FakeJob(5);
+
+        assertThat(runner.run(job)).isZero();
+        assertThat(job.rows).hasSize(5);
+    }
+
+    /**
+     * 1..size 의 ID 를 가진 메모리 테이블. failOnBatch 번째 삭제 호출에서 예외를 던져 노드 장애를 흉내 냅니다.
+     */
+    static class FakeJob implements RetentionJob {
+        final ConcurrentSkipListSet<Long> rows = new ConcurrentSkipListSet<>();
+        final List<Long> afterIds = new ArrayList<>();
+        int failOnBatch = -1;
+        private int batches;
+
+        FakeJob(int size) {
+            for (long id = 1; id <= size; id++) rows.add(id);
+        }
+
+        @Override
+        public String name() {
+            return "fake";
+        }
+
+        @Override
+        public List<Long> findExpiredIds(long afterId, int limit) {
+            afterIds.add(afterId);
+            return rows.tailSet(afterId, false).stream().limit(limit).toList();
+        }
+
+        @Override
+        public int deleteByIds(List<Long> ids) {
+            if (++batches == failOnBatch) throw new IllegalStateException("crash");
+            ids.forEach(rows::remove);
+            return ids.size();
+        }
+    }
+}
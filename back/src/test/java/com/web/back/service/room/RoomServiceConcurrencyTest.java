@@ -0,0 +1,102 @@
+package com.web.back.service.room;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 Redis 에 동시 입장 요청을 보내 방 정원이 절대 초과되지 않는지 검증합니다.
+ */
+class RoomServiceConcurrencyTest {
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+    private RoomService roomService;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+        roomService = new RoomService(redisTemplate, new ObjectMapper());
+    }
+
+    @Test
+    void parallelJoins_neverExceedCapacity() throws Exception {
+        int guests = 64;
+        ExecutorService executor = Executors.newFixedThreadPool(guests);
+        CountDownLatch ready = new CountDownLatch(guests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int i = 0; i < guests; i++) {
+            String guest = "guest" + i + "@test.com";
+            results.add(executor.submit(() -> {
+                ready.countDown();
+                start.await();
+                return roomService.joinRoom("owner@test.com", guest);
+            }));
+        }
+        ready.await();
+        start.countDown();
+
+        int joined = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(10, TimeUnit.SECONDS)) joined++;
+        }
+        executor.shutdown();
+
+        assertThat(joined).isEqualTo(RoomService.MAX_PARTICIPANTS);
+        assertThat(redisTemplate.opsForSet().size("room:owner@test.com")).isEqualTo((long) RoomService.MAX_PARTICIPANTS);
+    }
+
+    @Test
+    void joinAnotherRoom_leavesPreviousRoom() {
+        roomService.joinRoom("first@test.com", "guest@test.com");
+        roomService.joinRoom("second@test.com", "guest@test.com");
+
+        assertThat(roomService.getParticipants("first@test.com")).isEmpty();
+        assertThat(roomService.getParticipants("second@test.com")).containsExactly("guest@test.com");
+        assertThat(redisTemplate.opsForValue().get("user:location:guest@test.com")).isEqualTo("second@test.com");
+    }
+
+    @Test
+    void leaveRoom_removesMembershipAndLocation() {
+        roomService.joinRoom("owner@test.com", "guest@test.com");
+
+        roomService.leaveRoom("guest@test.com");
+        roomService.leaveRoom("guest@test.com"); // 두 번 호출해도 안전해야 함
+
+        assertThat(roomService.getParticipants("owner@test.com")).isEmpty();
+        assertThat(redisTemplate.hasKey("user:location:guest@test.com")).isFalse();
+    }
+}
@@ -0,0 +1,76 @@
+package com.web.back.service.search;
+
+import com.web.back.service.search.NgramFieldIndex.Match;
+import com.web.back.service.search.NgramFieldIndex.MatchTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NgramFieldIndexTest {
+    private final UUID hong = UUID.randomUUID();
+    private final UUID hongFull = UUID.randomUUID();
+    private final UUID kim = UUID.randomUUID();
+    private final UUID dev = UUID.randomUUID();
+
+    private NgramFieldIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NgramFieldIndex();
+        index.put(hong, "홍길동");
+        index.put(hongFull, "홍길동전");
+        index.put(kim, "김길동");
+        index.put(dev, "Dev_1234");
+    }
+
+    @Test
+    void search_ranksExactThenPrefixThenSubstring() {
+        List<Match> matches = index.search("홍길동", 10, null);
+
+        assertThat(matches).extracting(Match::id).containsExactly(hong, hongFull);
+        assertThat(matches).extracting(Match::tier).containsExactly(MatchTier.EXACT, MatchTier.PREFIX);
+
+        assertThat(index.search("길동", 10, null)).extracting(Match::tier)
+                .containsOnly(MatchTier.SUBSTRING)
+                .hasSize(3);
+    }
+
+    @Test
+    void search_normalizesCaseAndCompatibilityForms() {
+        assertThat(index.search("dev", 10, null)).extracting(Match::id).containsExactly(dev);
+        // 전각 문자도 NFKC 로 반각과 같게 취급
+        assertThat(index.search("ＤＥＶ_１２", 10, null)).extracting(Match::id).containsExactly(dev);
+    }
+
+    @Test
+    void search_respectsLimitAndExclusion() {
+        assertThat(index.search("동", 2, null)).hasSize(2);
+        assertThat(index.search("길동", 10, kim)).extracting(Match::id).doesNotContain(kim);
+    }
+
+    @Test
+    void search_resumesAfterPositionAcrossTiers() {
+        List<Match> all = index.search("길동", 10, null);
+        List<Match> first = index.search("길동", 2, null);
+        List<Match> rest = index.search("길동", 10, null, first.get(1).position());
+
+        assertThat(first).hasSize(2);
+        assertThat(rest).extracting(Match::id).containsExactly(all.get(2).id());
+
+        List<Match> afterExact = index.search("홍길동", 10, null, index.search("홍길동", 1, null).get(0).position());
+        assertThat(afterExact).extracting(Match::id).containsExactly(hongFull);
+    }
+
+    @Test
+    void put_replacesPreviousValue() {
+        index.put(kim, "박보검");
+
+        assertThat(index.search("김길동", 10, null)).isEmpty();
+        assertThat(index.search("보검", 10, null)).extracting(Match::id).containsExactly(kim);
+        assertThat(index.size()).isEqualTo(4);
+    }
+}
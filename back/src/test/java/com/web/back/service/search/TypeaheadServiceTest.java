@@ -0,0 +1,78 @@
+package com.web.back.service.search;
+
+import com.web.back.dto.user.UserTypeaheadResponseDto;
+import com.web.back.event.UserProfileChangedEvent;
+import com.web.back.repository.UserRepository;
+import com.web.back.service.friend.FriendService;
+import com.web.back.service.presence.PresenceService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TypeaheadServiceTest {
+    private final UUID me = UUID.randomUUID();
+    private final UUID hong = UUID.randomUUID();
+    private final UUID hongFull = UUID.randomUUID();
+    private final UUID blocked = UUID.randomUUID();
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserSearchIndex index;
+    private TypeaheadService typeaheadService;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex(mock(UserRepository.class));
+        index.put(me, "홍길순", "me@test.com");
+        index.put(hong, "홍길동", "hong@test.com");
+        index.put(hongFull, "홍길동전", "full@test.com");
+        index.put(blocked, "홍길남", "blocked@test.com");
+
+        FriendService friendService = mock(FriendService.class);
+        when(friendService.getBlockedEitherWay(me)).thenReturn(Set.of(blocked));
+        PresenceService presenceService = mock(PresenceService.class);
+        when(presenceService.getStatuses(any())).thenReturn(Map.of());
+
+        meterRegistry = new SimpleMeterRegistry();
+        typeaheadService = new TypeaheadService(index, friendService, presenceService, meterRegistry, 100, 60, 30);
+    }
+
+    @Test
+    void suggest_refinesFromCachedParentPrefix() {
+        assertThat(typeaheadService.suggest("홍", 10, me)).extracting(UserTypeaheadResponseDto::nickname)
+                .containsExactly("홍길동", "홍길동전"); // 본인 / 차단 유저 제외
+
+        assertThat(typeaheadService.suggest("홍길동", 10, me)).extracting(UserTypeaheadResponseDto::nickname)
+                .containsExactly("홍길동", "홍길동전");
+        assertThat(typeaheadService.suggest("홍길동", 10, me)).hasSize(2);
+
+        assertThat(lookups("index")).isEqualTo(1);
+        assertThat(lookups("parent")).isEqualTo(1);
+        assertThat(lookups("cache")).isEqualTo(1);
+        assertThat(meterRegistry.get("user.typeahead.hit.ratio").gauge().value()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    void nicknameChange_invalidatesAffectedPrefixes() {
+        typeaheadService.suggest("홍길", 10, me);
+
+        index.put(hong, "김철수", "hong@test.com");
+        typeaheadService.onUserProfileChanged(new UserProfileChangedEvent(hong, "hong@test.com", "홍길동", "김철수"));
+
+        assertThat(typeaheadService.suggest("홍길", 10, me)).extracting(UserTypeaheadResponseDto::nickname)
+                .containsExactly("홍길동전");
+        assertThat(lookups("index")).isEqualTo(2);
+    }
+
+    private double lookups(String source) {
+        return meterRegistry.get("user.typeahead.lookups").tag("source", source).counter().count();
+    }
+}
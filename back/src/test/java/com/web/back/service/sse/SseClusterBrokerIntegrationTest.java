@@ -0,0 +1,164 @@
+package com.web.back.service.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.web.back.config.RedisConfig;
+import com.web.back.service.room.RoomService;
+import org.junit.jupiter.api.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 두 개의 애플리케이션 컨텍스트(노드)를 하나의 내장 Redis 에 붙여 노드 간 SSE 전달을 검증합니다.
+ */
+class SseClusterBrokerIntegrationTest {
+    private static int redisPort;
+    private static RedisServer redisServer;
+
+    private AnnotationConfigApplicationContext nodeA;
+    private AnnotationConfigApplicationContext nodeB;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            redisPort = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = new AnnotationConfigApplicationContext(NodeConfig.class);
+        nodeB = new AnnotationConfigApplicationContext(NodeConfig.class);
+        nodeA.getBean(StringRedisTemplate.class).getConnectionFactory().getConnection().serverCommands().flushAll();
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void sendEvent_reachesUserConnectedToAnotherNode() throws InterruptedException {
+        CapturingEmitter guest = connect(nodeB, "guest@test.com");
+
+        nodeA.getBean(SseService.class).sendEvent("guest@test.com", "music-sync", Map.of("videoId", "abc"));
+
+        String received = guest.received.poll(5, TimeUnit.SECONDS);
+        assertThat(received).contains("event:music-sync").contains("\"videoId\":\"abc\"");
+    }
+
+    @Test
+    void broadcastToRoom_deliversEachMemberExactlyOnce() throws InterruptedException {
+        CapturingEmitter localGuest = connect(nodeA, "local@test.com");
+        CapturingEmitter remoteGuest = connect(nodeB, "remote@test.com");
+        nodeA.getBean(StringRedisTemplate.class).opsForSet()
+                .add("room:owner@test.com", "owner@test.com", "local@test.com", "remote@test.com");
+
+        nodeA.getBean(SseService.class).broadcastToRoom("owner@test.com", "music-sync", Map.of("videoId", "xyz"));
+
+        assertThat(localGuest.received.poll(5, TimeUnit.SECONDS)).contains("xyz");
+        assertThat(remoteGuest.received.poll(5, TimeUnit.SECONDS)).contains("xyz");
+        // 로컬 전달은 Redis 를 거치지 않으므로 중복 수신이 없어야 함
+        assertThat(localGuest.received.poll(500, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(remoteGuest.received.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void markOffline_doesNotRemoveStatusOwnedByAnotherNode() {
+        SseClusterBroker brokerA = nodeA.getBean(SseClusterBroker.class);
+        SseClusterBroker brokerB = nodeB.getBean(SseClusterBroker.class);
+
+        brokerA.markOnline("moved@test.com");
+        brokerB.markOnline("moved@test.com"); // 다른 노드로 재접속
+
+        assertThat(brokerA.markOffline("moved@test.com")).isFalse();
+        assertThat(nodeA.getBean(StringRedisTemplate.class).opsForValue().get("status:moved@test.com"))
+                .isEqualTo(brokerB.getNodeId());
+        assertThat(brokerB.markOffline("moved@test.com")).isTrue();
+        assertThat(brokerA.markOffline("moved@test.com")).isTrue(); // 이미 아무도 소유하지 않음
+    }
+
+    @Test
+    void cleanup_ofStaleConnection_keepsUserInRoomAfterMovingToAnotherNode() {
+        RoomService rooms = nodeA.getBean(RoomService.class);
+        SseConnection staleConnection =
+                nodeA.getBean(SseDispatchHub.class).register("moved@test.com", new CapturingEmitter());
+        nodeA.getBean(SseClusterBroker.class).markOnline("moved@test.com");
+        rooms.joinRoom("owner@test.com", "moved@test.com");
+        connect(nodeB, "moved@test.com"); // 다른 노드로 재접속
+
+        nodeA.getBean(SseService.class).cleanup(staleConnection);
+
+        assertThat(rooms.getParticipants("owner@test.com")).contains("moved@test.com");
+    }
+
+    private CapturingEmitter connect(AnnotationConfigApplicationContext node, String email) {
+        CapturingEmitter emitter = new CapturingEmitter();
+        node.getBean(SseDispatchHub.class).register(email, emitter);
+        node.getBean(SseClusterBroker.class).markOnline(email);
+        return emitter;
+    }
+
+    static class CapturingEmitter extends SseEmitter {
+        final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            ObjectMapper mapper = new ObjectMapper();
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> {
+                Object data = part.getData();
+                try {
+                    text.append(data instanceof String ? data : mapper.writeValueAsString(data));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            received.add(text.toString());
+        }
+    }
+
+    @Configuration
+    @Import({RedisConfig.class, SseDispatchHub.class, SseClusterBroker.class, HeartbeatScheduler.class,
+            SseService.class, RoomService.class})
+    static class NodeConfig {
+        @Bean
+        public LettuceConnectionFactory redisConnectionFactory() {
+            return new LettuceConnectionFactory("localhost", redisPort);
+        }
+
+        @Bean
+        public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory) {
+            return new StringRedisTemplate(connectionFactory);
+        }
+
+        @Bean
+        public ObjectMapper objectMapper() {
+            return Jackson2ObjectMapperBuilder.json().build();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.web.back.service.sse;
+
+import com.web.back.enums.SseOverflowPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 소켓이 막혀 send 가 끝나지 않는 클라이언트가 같은 샤드의 다른 연결 전송을 멈추지 않는지 검증합니다.
+ */
+class SseDispatchHubTest {
+    private final SseDispatchHub hub = new SseDispatchHub(1, 64, 16, SseOverflowPolicy.COALESCE, 50);
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        hub.shutdown();
+    }
+
+    @Test
+    void evictSlowConsumers_disconnectsStuckClientAndKeepsShardDelivering() throws Exception {
+        List<SseConnection> disconnected = new CopyOnWriteArrayList<>();
+        hub.onDisconnect(disconnected::add);
+        CountDownLatch stuck = new CountDownLatch(1);
+        SseConnection slow = hub.register("slow@test.com", new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                stuck.countDown();
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        CountDownLatch delivered = new CountDownLatch(1);
+        hub.register("fast@test.com", new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                delivered.countDown();
+            }
+        });
+
+        hub.enqueue("slow@test.com", "roomUpdate", "a");
+        assertThat(stuck.await(5, TimeUnit.SECONDS)).isTrue();
+        // 샤드가 하나뿐이므로 writer 를 바꾸지 않으면 전달되지 않음
+        hub.enqueue("fast@test.com", "roomUpdate", "b");
+        assertThat(delivered.await(200, TimeUnit.MILLISECONDS)).isFalse();
+
+        Thread.sleep(60);
+        hub.evictSlowConsumers();
+
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(disconnected).containsExactly(slow);
+        assertThat(slow.isClosed()).isTrue();
+        assertThat(hub.enqueue("slow@test.com", "roomUpdate", "c")).isFalse();
+    }
+
+    @Test
+    void evictSlowConsumers_leavesSendsWithinTimeoutAlone() throws Exception {
+        List<SseConnection> disconnected = new CopyOnWriteArrayList<>();
+        hub.onDisconnect(disconnected::add);
+        CountDownLatch delivered = new CountDownLatch(1);
+        hub.register("fast@test.com", new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                delivered.countDown();
+            }
+        });
+
+        hub.enqueue("fast@test.com", "roomUpdate", "a");
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(60);
+        hub.evictSlowConsumers();
+
+        assertThat(disconnected).isEmpty();
+        assertThat(hub.isConnected("fast@test.com")).isTrue();
+    }
+}
@@ -0,0 +1,86 @@
+package com.web.back.service.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SpaceSavingTest {
+
+    @Test
+    void offer_keepsHeavyHittersWithinErrorBound() {
+        SpaceSaving summary = new SpaceSaving(20);
+        Map<String, Integer> exact = new HashMap<>();
+        List<String> stream = zipfStream(5000, 300, new Random(42));
+        for (String item : stream) {
+            summary.offer(item, 1);
+            exact.merge(item, 1, Integer::sum);
+        }
+
+        assertThat(summary.size()).isEqualTo(20);
+        // 전체의 1/capacity 보다 많이 나온 항목은 반드시 요약에 남고, 실제 값은 [count - error, count] 안에 있음
+        for (Map.Entry<String, Integer> entry : exact.entrySet()) {
+            if (entry.getValue() <= stream.size() / 20) continue;
+            SpaceSaving.Entry found = find(summary, entry.getKey());
+            assertThat(found).isNotNull();
+            assertThat((double) entry.getValue()).isBetween(found.count() - found.error(), found.count());
+        }
+        assertThat(summary.top(3)).extracting(SpaceSaving.Entry::item).containsExactly("v0", "v1", "v2");
+    }
+
+    @Test
+    void merge_keepsOverestimateAndCapacity() {
+        SpaceSaving left = new SpaceSaving(3);
+        SpaceSaving right = new SpaceSaving(3);
+        for (String item : List.of("a", "a", "a", "b", "b", "c", "d")) left.offer(item, 1);
+        for (String item : List.of("a", "e", "e", "e", "e", "f")) right.offer(item, 1);
+
+        left.merge(right);
+
+        assertThat(left.size()).isEqualTo(3);
+        // a: 실제 4, e: 실제 4 (왼쪽 요약이 꽉 차 있었으므로 왼쪽 최솟값만큼 과대 추정될 수 있음)
+        SpaceSaving.Entry a = find(left, "a");
+        SpaceSaving.Entry e = find(left, "e");
+        assertThat(4.0).isBetween(a.count() - a.error(), a.count());
+        assertThat(4.0).isBetween(e.count() - e.error(), e.count());
+        assertThat(left.top(2)).extracting(SpaceSaving.Entry::item).containsExactlyInAnyOrder("a", "e");
+    }
+
+    @Test
+    void scale_shrinksCountsWithoutReordering() {
+        SpaceSaving summary = new SpaceSaving(2);
+        for (String item : List.of("a", "a", "b", "c")) summary.offer(item, 1);
+
+        summary.scale(0.5);
+        summary.offer("a", 1);
+
+        assertThat(summary.top(2)).extracting(SpaceSaving.Entry::item).containsExactly("a", "c");
+        assertThat(find(summary, "a").count()).isCloseTo(2.0, within(1e-9));
+        assertThat(SpaceSaving.of(2, summary.entries()).entries()).isEqualTo(summary.entries());
+    }
+
+    private static SpaceSaving.Entry find(SpaceSaving summary, String item) {
+        return summary.entries().stream().filter(entry -> entry.item().equals(item)).findFirst().orElse(null);
+    }
+
+    /**
+     * v0 이 가장 자주 나오는 Zipf(s=1) 분포의 스트림
+     */
+    private static List<String> zipfStream(int length, int distinct, Random random) {
+        double[] cumulative = new double[distinct];
+        double sum = 0;
+        for (int i = 0; i < distinct; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        List<String> stream = new ArrayList<>(length);
+        for (int n = 0; n < length; n++) {
+            double target = random.nextDouble() * sum;
+            int index = Arrays.binarySearch(cumulative, target);
+            stream.add("v" + (index >= 0 ? index : -index - 1));
+        }
+        return stream;
+    }
+}
@@ -0,0 +1,151 @@
+package com.web.back.service.trending;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.web.back.dto.focus.TrendingVideoDto;
+import com.web.back.enums.TrendingScope;
+import com.web.back.repository.FriendRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 두 노드가 같은 Redis 스냅샷으로 인기 음악 집계를 합치는지, 친구 범위 / 반감기가 적용되는지 검증합니다.
+ */
+class TrendingMusicServiceTest {
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private final UUID me = UUID.randomUUID();
+    private final UUID friend = UUID.randomUUID();
+    private final UUID stranger = UUID.randomUUID();
+
+    private MutableClock clock;
+    private FriendRepository friendRepository;
+    private TrendingMusicService nodeA;
+    private TrendingMusicService nodeB;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+        clock = new MutableClock(Instant.parse("2025-03-01T00:00:00Z"));
+        friendRepository = mock(FriendRepository.class);
+        given(friendRepository.findFollowingIds(me)).willReturn(List.of(friend));
+        nodeA = node(redisTemplate);
+        nodeB = node(redisTemplate);
+    }
+
+    @Test
+    void snapshot_mergesPlaysFromEveryNode() {
+        nodeA.record(me, List.of("lofi", "rain", "lofi"));
+        nodeB.record(stranger, List.of("lofi", "jazz"));
+        nodeB.record(friend, List.of("lofi", "jazz"));
+
+        nodeA.snapshot();
+        nodeB.snapshot();
+        nodeA.snapshot();
+
+        for (TrendingMusicService node : List.of(nodeA, nodeB)) {
+            List<TrendingVideoDto> trending = node.getTrending(me, TrendingScope.GLOBAL, 10);
+            assertThat(trending).extracting(TrendingVideoDto::videoId).containsExactly("lofi", "jazz", "rain");
+            // 한 세션 안에서 같은 영상은 한 번만 셈
+            assertThat(trending.get(0).score()).isCloseTo(3.0, within(1e-9));
+        }
+    }
+
+    @Test
+    void friendsScope_mergesMyCircleOnly() {
+        nodeB.record(friend, List.of("jazz"));
+        nodeB.record(friend, List.of("jazz", "piano"));
+        nodeB.record(stranger, List.of("metal"));
+        nodeA.record(me, List.of("piano"));
+        nodeB.snapshot();
+
+        List<TrendingVideoDto> trending = nodeA.getTrending(me, TrendingScope.FRIENDS, 10);
+
+        assertThat(trending).extracting(TrendingVideoDto::videoId).containsExactlyInAnyOrder("jazz", "piano");
+        assertThat(trending).allSatisfy(video -> assertThat(video.score()).isCloseTo(2.0, within(1e-9)));
+    }
+
+    @Test
+    void snapshot_decaysOldPlaysByHalfLife() {
+        nodeA.record(me, List.of("old"));
+        nodeA.record(stranger, List.of("old"));
+        nodeA.snapshot();
+
+        clock.advanceHours(72);
+        nodeA.record(me, List.of("new"));
+        nodeA.snapshot();
+
+        List<TrendingVideoDto> trending = nodeA.getTrending(me, TrendingScope.GLOBAL, 10);
+        assertThat(trending).extracting(TrendingVideoDto::videoId).containsExactly("old", "new");
+        assertThat(trending.get(0).score()).isCloseTo(1.0, within(1e-9));
+        assertThat(trending.get(1).score()).isCloseTo(1.0, within(1e-9));
+    }
+
+    private TrendingMusicService node(StringRedisTemplate redisTemplate) {
+        return new TrendingMusicService(redisTemplate, new ObjectMapper(), friendRepository,
+                100, 10, 72, 1000, 60, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceHours(long hours) {
+            now = now.plus(hours, ChronoUnit.HOURS);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("Asia/Seoul");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
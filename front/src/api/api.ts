@@ -1,4 +1,5 @@
 import api from "./client";
+import { CursorPage, SearchUser } from "../types";
 
 export const sendEnd = async (
   startTime: string,
@@ -50,10 +51,11 @@ export const changeUserNickname = async (nickname: string) => {
   })
 }
 
-export const searchUser = async (nickname: string) => {
-  const response = await api.get('/api/user/search', {
+export const searchUser = async (nickname: string, cursor?: string) => {
+  const response = await api.get<CursorPage<SearchUser>>('/api/user/search', {
     params: {
-      nickname: nickname
+      nickname: nickname,
+      cursor: cursor
     }
   })
   return response.data;
@@ -76,13 +78,17 @@ export const blockFollower = async (email: string) => {
   })
 }
 
-export const getFollowings = async () => {
-  const response = await api.get('/api/user/following');
+export const getFollowings = async (cursor?: string) => {
+  const response = await api.get<CursorPage<SearchUser>>('/api/user/following', {
+    params: { cursor: cursor, size: 50 }
+  });
   return response.data;
 }
 
-export const getFollowers = async () => {
-  const response = await api.get('/api/user/follower');
+export const getFollowers = async (cursor?: string) => {
+  const response = await api.get<CursorPage<SearchUser>>('/api/user/follower', {
+    params: { cursor: cursor, size: 50 }
+  });
   return response.data;
 }
 
@@ -106,7 +112,11 @@ export const shareMusic = async (ownerEmail: string, data: { videoId: string | n
   return response;
 }
 
-export const getRanks = async () => {
-  const response = await api.get('/api/user/rank');
+export const getRanks = async (window: 'all' | 'daily' | 'weekly' | 'monthly' = 'all') => {
+  const response = await api.get('/api/user/rank', {
+    params: {
+      window: window
+    }
+  });
   return response.data;
 }
\ No newline at end of file
@@ -9,7 +9,7 @@ import { useSocialStore } from "../store/store";
 type TabType = "FOLLOWING" | "FOLLOWER";
 
 function SocialPanel({ isSocialOpen, setIsSocialOpen }: { isSocialOpen: boolean; setIsSocialOpen: (open: boolean) => void }) {
-  const { lists, fetchFriendsList, removeUserFromList } = useSocialStore();
+  const { lists, fetchFriendsList, fetchMoreFriends, removeUserFromList } = useSocialStore();
 
   const [searchQuery, setSearchQuery] = useState("");
   const [searchResults, setSearchResults] = useState<SearchUser[]>([]);
@@ -38,6 +38,13 @@ function SocialPanel({ isSocialOpen, setIsSocialOpen }: { isSocialOpen: boolean;
     }
   }, [isSocialOpen, activeTab, loadSocialData]);
 
+  // 목록 끝 근처까지 스크롤하면 다음 페이지 로드
+  const handleListScroll = (e: React.UIEvent<HTMLDivElement>) => {
+    if (searchQuery.length > 0) return;
+    const { scrollTop, scrollHeight, clientHeight } = e.currentTarget;
+    if (scrollHeight - scrollTop - clientHeight < 80) fetchMoreFriends(activeTab);
+  };
+
   // 검색 디바운싱
   useEffect(() => {
     const trimmed = searchQuery.trim();
@@ -48,8 +55,8 @@ function SocialPanel({ isSocialOpen, setIsSocialOpen }: { isSocialOpen: boolean;
 
     const timer = setTimeout(async () => {
       try {
-        const data = await searchUser(trimmed);
-        setSearchResults(data);
+        const page = await searchUser(trimmed);
+        setSearchResults(page.items);
       } catch (error) {
         console.error("검색 실패", error);
       }
@@ -110,7 +117,7 @@ function SocialPanel({ isSocialOpen, setIsSocialOpen }: { isSocialOpen: boolean;
           )}
 
           {/* 콘텐츠 영역 */}
-          <div className="flex-1 overflow-y-auto pr-2 custom-scrollbar relative">
+          <div onScroll={handleListScroll} className="flex-1 overflow-y-auto pr-2 custom-scrollbar relative">
             <AnimatePresence mode="wait">
               <motion.div
                 key={searchQuery.length > 0 ? "search" : activeTab}
@@ -60,6 +60,13 @@ export const useSse = () => {
       }
     });
 
+    // 펫 심심함이 임계값을 넘었을 때 서버가 보내는 알림
+    es.addEventListener('pet-alert', (e) => {
+      const data = JSON.parse(e.data);
+      console.log(`🐾 펫이 심심해요! (심심함 ${Math.floor(data.boredom)})`);
+      useUserStore.getState().updatePetStats(data.happiness, data.boredom);
+    });
+
     // 에러 및 재연결 로직
     es.onerror = (error: EventSourceError) => {
       console.error('❌ SSE Error:', error);
@@ -100,19 +100,26 @@ export const useUIStore = create<UIState>((set) => ({
   toggleRank: () => set((state) => ({ isRankOpen: !state.isRankOpen }))
 }));
 
-export const useSocialStore = create<SocialState>((set) => ({
+export const useSocialStore = create<SocialState>((set, get) => ({
   lists: {
     FOLLOWING: [],
     FOLLOWER: []
   },
+  cursors: {
+    FOLLOWING: null,
+    FOLLOWER: null
+  },
   isLoading: false,
   // Social
+  // 첫 페이지만 불러오고, 나머지는 스크롤할 때 fetchMoreFriends 로 이어서 불러옴
   fetchFriendsList: async (tab: "FOLLOWING" | "FOLLOWER") => {
     set({ isLoading: true });
     try {
-      const data = tab === "FOLLOWING" ? await getFollowings() : await getFollowers();
+      const fetchPage = tab === "FOLLOWING" ? getFollowings : getFollowers;
+      const page = await fetchPage();
       set((state) => ({
-        lists: { ...state.lists, [tab]: data }
+        lists: { ...state.lists, [tab]: page.items },
+        cursors: { ...state.cursors, [tab]: page.nextCursor }
       }));
     } catch (error) {
       console.error(`${tab} 목록 로드 실패:`, error);
@@ -120,6 +127,29 @@ export const useSocialStore = create<SocialState>((set) => ({
       set({ isLoading: false });
     }
   },
+  fetchMoreFriends: async (tab: "FOLLOWING" | "FOLLOWER") => {
+    const { cursors, isLoading } = get();
+    const cursor = cursors[tab];
+    if (!cursor || isLoading) return;
+
+    set({ isLoading: true });
+    try {
+      const fetchPage = tab === "FOLLOWING" ? getFollowings : getFollowers;
+      const page = await fetchPage(cursor);
+      set((state) => {
+        // 새로 팔로우해 앞에 추가된 유저가 다음 페이지에 다시 나올 수 있으므로 중복 제거
+        const known = new Set(state.lists[tab].map(u => u.email));
+        return {
+          lists: { ...state.lists, [tab]: [...state.lists[tab], ...page.items.filter(u => !known.has(u.email))] },
+          cursors: { ...state.cursors, [tab]: page.nextCursor }
+        };
+      });
+    } catch (error) {
+      console.error(`${tab} 목록 추가 로드 실패:`, error);
+    } finally {
+      set({ isLoading: false });
+    }
+  },
   addFollowingToList: (user: SearchUser) => set((state) => {
     const isExist = state.lists.FOLLOWING.some(u => u.email === user.email);
     if (isExist) return state;
@@ -139,7 +169,8 @@ export const useSocialStore = create<SocialState>((set) => ({
   })),
   /* --- 공통 초기화 --- */
   clearSocialData: () => set({
-    lists: { FOLLOWING: [], FOLLOWER: [] }
+    lists: { FOLLOWING: [], FOLLOWER: [] },
+    cursors: { FOLLOWING: null, FOLLOWER: null }
   })
 }));
 
@@ -60,6 +60,12 @@ export type SearchUser = {
   isRoomFull?: boolean;
 };
 
+export type CursorPage<T> = {
+  items: T[];
+  nextCursor: string | null;
+  hasNext: boolean;
+};
+
 export type SessionState = {
   sessionTime: number;
   startTime: string | null;
@@ -109,8 +115,14 @@ export type SocialState = {
     FOLLOWING: SearchUser[];
     FOLLOWER: SearchUser[];
   };
+  // 다음 페이지 커서 (null 이면 마지막 페이지까지 불러온 상태)
+  cursors: {
+    FOLLOWING: string | null;
+    FOLLOWER: string | null;
+  };
   isLoading: boolean;
   fetchFriendsList: (tab: "FOLLOWING" | "FOLLOWER") => Promise<void>;
+  fetchMoreFriends: (tab: "FOLLOWING" | "FOLLOWER") => Promise<void>;
   addFollowingToList: (user: SearchUser) => void;
   removeUserFromList: (email: string, tab: "FOLLOWING" | "FOLLOWER") => void;
   clearSocialData: () => void;